@@ -0,0 +1,97 @@
+#!/bin/bash
+# 星光小栈后端压测脚本：对比平台线程与虚拟线程模式
+# 依次以两种模式启动已打包的 JAR，对同一组公开接口压测，输出吞吐与延迟
+# 依赖: Java 21（虚拟线程模式）、wrk、curl；需先执行 ./build.sh 打包并准备好数据库和 Redis
+# 用法: ./bench.sh [jar路径]
+# 环境变量:
+#   BENCH_DURATION     每个接口压测时长（默认 30s）
+#   BENCH_CONNECTIONS  并发连接数（默认 400，应明显大于 Tomcat 默认的200个线程）
+#   BENCH_THREADS      wrk 线程数（默认 4）
+#   BENCH_ARTICLE_ID   文章详情接口使用的文章ID（默认 1）
+#   BENCH_PORT         应用端口（默认 8080）
+
+set -e
+
+JAR=${1:-$(ls target/*.jar 2>/dev/null | grep -v original | head -1)}
+DURATION=${BENCH_DURATION:-30s}
+CONNECTIONS=${BENCH_CONNECTIONS:-400}
+THREADS=${BENCH_THREADS:-4}
+ARTICLE_ID=${BENCH_ARTICLE_ID:-1}
+PORT=${BENCH_PORT:-8080}
+BASE_URL="http://localhost:$PORT"
+RESULT_DIR="target/bench/$(date +%Y%m%d%H%M%S)"
+
+if [ -z "$JAR" ] || [ ! -f "$JAR" ]; then
+    echo "未找到JAR，请先执行 ./build.sh 或指定JAR路径"
+    exit 1
+fi
+if ! command -v wrk >/dev/null 2>&1; then
+    echo "未找到 wrk，请先安装"
+    exit 1
+fi
+
+ENDPOINTS=(
+    "/api/bootstrap"
+    "/api/articles?page=0&size=10"
+    "/api/articles/$ARTICLE_ID"
+    "/api/categories"
+    "/api/stats"
+)
+
+mkdir -p "$RESULT_DIR"
+
+wait_for_startup() {
+    for _ in $(seq 1 60); do
+        if curl -sf "$BASE_URL/api/config/public" >/dev/null; then
+            return 0
+        fi
+        sleep 2
+    done
+    echo "应用启动超时"
+    return 1
+}
+
+run_mode() {
+    local mode=$1
+    local virtual=$2
+    local log="$RESULT_DIR/$mode-app.log"
+
+    echo "=== 模式: $mode (BLOG_VIRTUAL_THREADS=$virtual) ==="
+    # 虚拟线程模式打开钉住跟踪，钉住栈输出在应用日志中
+    BLOG_VIRTUAL_THREADS=$virtual java -Djdk.tracePinnedThreads=short -jar "$JAR" --server.port="$PORT" >"$log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    wait_for_startup
+    # 预热：填充缓存与JIT
+    for endpoint in "${ENDPOINTS[@]}"; do
+        wrk -t2 -c20 -d5s "$BASE_URL$endpoint" >/dev/null
+    done
+
+    for endpoint in "${ENDPOINTS[@]}"; do
+        echo "--- $endpoint"
+        wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency "$BASE_URL$endpoint" \
+            | tee -a "$RESULT_DIR/$mode.txt" \
+            | grep -E "Requests/sec|Latency|99%|Non-2xx|Socket errors"
+    done
+
+    curl -s "$BASE_URL/actuator/health" >/dev/null || true
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+
+    local pinned
+    pinned=$(grep -c "VirtualThread\|虚拟线程被钉住" "$log" || true)
+    echo "钉住相关日志: ${pinned}条（详见 $log）"
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo
+echo "=== 吞吐对比（Requests/sec） ==="
+paste <(grep "Requests/sec" "$RESULT_DIR/platform.txt" | awk '{print $2}') \
+      <(grep "Requests/sec" "$RESULT_DIR/virtual.txt" | awk '{print $2}') \
+    | awk -v endpoints="${ENDPOINTS[*]}" 'BEGIN{split(endpoints, e, " "); printf "%-32s %12s %12s\n", "接口", "平台线程", "虚拟线程"}
+           {printf "%-32s %12s %12s\n", e[NR], $1, $2}'
+echo "完整结果: $RESULT_DIR"
@@ -1,24 +1,27 @@
 package com.blog.aspect;
 
+import com.blog.common.annotation.RateLimited;
+import com.blog.config.properties.BlogProperties;
+import com.blog.config.ratelimit.RateLimitAlgorithm;
+import com.blog.config.ratelimit.RateLimitRule;
+import com.blog.config.ratelimit.RateLimiter;
 import com.blog.exception.BusinessException;
 import com.blog.util.IpUtil;
-import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Pointcut;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
 
 /**
  * 限流切面
- * 防止恶意请求
+ * 拦截标注了 @RateLimited 的方法，按客户端IP限流，防止恶意请求
  */
 @Slf4j
 @Aspect
@@ -26,95 +29,51 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class RateLimitAspect {
 
-    private final StringRedisTemplate redisTemplate;
+    private final RateLimiter rateLimiter;
+    private final BlogProperties blogProperties;
 
-    // 评论限流：同一IP每分钟最多3次
-    private static final int COMMENT_LIMIT = 3;
-    private static final int COMMENT_WINDOW = 60; // 秒
-
-    // 留言限流：同一IP每分钟最多3次
-    private static final int MESSAGE_LIMIT = 3;
-    private static final int MESSAGE_WINDOW = 60; // 秒
-
-    // 登录限流：同一IP每小时最多10次
-    private static final int LOGIN_LIMIT = 10;
-    private static final int LOGIN_WINDOW = 3600; // 秒
-
-    /**
-     * 评论接口限流
-     */
-    @Pointcut("execution(* com.blog.controller.api.CommentController.createComment(..))")
-    public void commentRateLimitPointcut() {
-    }
-
-    /**
-     * 留言接口限流
-     */
-    @Pointcut("execution(* com.blog.controller.api.MessageController.createMessage(..))")
-    public void messageRateLimitPointcut() {
-    }
-
-    /**
-     * 登录接口限流
-     */
-    @Pointcut("execution(* com.blog.controller.auth.AuthController.login(..))")
-    public void loginRateLimitPointcut() {
-    }
-
-    @Around("commentRateLimitPointcut()")
-    public Object limitComment(ProceedingJoinPoint joinPoint) throws Throwable {
-        String ip = getClientIp();
-        String key = "rate_limit:comment:" + ip;
-        checkRateLimit(key, COMMENT_LIMIT, COMMENT_WINDOW, "评论");
-        return joinPoint.proceed();
-    }
-
-    @Around("messageRateLimitPointcut()")
-    public Object limitMessage(ProceedingJoinPoint joinPoint) throws Throwable {
-        String ip = getClientIp();
-        String key = "rate_limit:message:" + ip;
-        checkRateLimit(key, MESSAGE_LIMIT, MESSAGE_WINDOW, "留言");
-        return joinPoint.proceed();
-    }
-
-    @Around("loginRateLimitPointcut()")
-    public Object limitLogin(ProceedingJoinPoint joinPoint) throws Throwable {
-        String ip = getClientIp();
-        String key = "rate_limit:login:" + ip;
-        checkRateLimit(key, LOGIN_LIMIT, LOGIN_WINDOW, "登录");
-        return joinPoint.proceed();
-    }
-
-    /**
-     * 检查限流（原子操作）
-     */
-    private void checkRateLimit(String key, int limit, int windowSeconds, String operation) {
-        // INCR 是原子操作，对不存在的 key 返回 1
-        Long count = redisTemplate.opsForValue().increment(key);
-        if (count == null) {
-            return;
-        }
-
-        if (count == 1) {
-            // 首次请求，设置过期时间
-            redisTemplate.expire(key, windowSeconds, TimeUnit.SECONDS);
+    @Around("@annotation(rateLimited)")
+    public Object limit(ProceedingJoinPoint joinPoint, RateLimited rateLimited) throws Throwable {
+        BlogProperties.RateLimit config = blogProperties.getRateLimit();
+        if (!config.isEnabled()) {
+            return joinPoint.proceed();
         }
 
-        if (count > limit) {
-            log.warn("Rate limit exceeded for {}: key={}, count={}", operation, key, count);
-            throw new BusinessException("操作过于频繁，请稍后再试");
+        RateLimitRule rule = resolveRule(rateLimited, config.getRules().get(rateLimited.key()));
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        String ip = attributes != null ? IpUtil.getIpAddress(attributes.getRequest()) : "unknown";
+
+        long wait = rateLimiter.tryAcquire(rule, ip);
+        if (wait > 0) {
+            log.warn("Rate limit exceeded for {}: ip={}, retryAfter={}ms", rule.name(), ip, wait);
+            HttpServletResponse response = attributes != null ? attributes.getResponse() : null;
+            if (response != null) {
+                response.setHeader("Retry-After", String.valueOf(Math.max(1, (wait + 999) / 1000)));
+            }
+            throw new BusinessException(rateLimited.error());
         }
+        return joinPoint.proceed();
     }
 
     /**
-     * 获取客户端IP
+     * 合并注解与配置，配置优先
      */
-    private String getClientIp() {
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        if (attributes != null) {
-            HttpServletRequest request = attributes.getRequest();
-            return IpUtil.getIpAddress(request);
+    private static RateLimitRule resolveRule(RateLimited rateLimited, BlogProperties.RateLimitRuleSpec spec) {
+        int limit = rateLimited.limit();
+        Duration window = Duration.ofSeconds(rateLimited.window());
+        RateLimitAlgorithm algorithm = rateLimited.algorithm();
+        if (spec != null) {
+            if (spec.getLimit() != null) {
+                limit = spec.getLimit();
+            }
+            if (spec.getWindow() != null) {
+                window = spec.getWindow();
+            }
+            if (spec.getAlgorithm() != null) {
+                algorithm = spec.getAlgorithm();
+            }
         }
-        return "unknown";
+        return new RateLimitRule(rateLimited.key(), algorithm, Math.max(1, limit),
+                window.isNegative() || window.isZero() ? Duration.ofSeconds(1) : window);
     }
 }
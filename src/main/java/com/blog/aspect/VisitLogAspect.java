@@ -1,6 +1,6 @@
 package com.blog.aspect;
 
-import com.blog.service.impl.AsyncLogService;
+import com.blog.service.impl.VisitLogIngestor;
 import com.blog.util.IpUtil;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,7 +26,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class VisitLogAspect {
 
-    private final AsyncLogService asyncLogService;
+    private final VisitLogIngestor visitLogIngestor;
 
     private static final String VISITOR_ID_COOKIE = "visitor_id";
 
@@ -38,9 +38,10 @@ public class VisitLogAspect {
     }
 
     /**
-     * 首页访问
+     * 首页访问（文章列表或首页启动数据）
      */
-    @Pointcut("execution(* com.blog.controller.api.ArticleController.getArticleList(..))")
+    @Pointcut("execution(* com.blog.controller.api.ArticleController.getArticleList(..))"
+            + " || execution(* com.blog.controller.api.BootstrapController.getBootstrap(..))")
     public void homePagePointcut() {
     }
 
@@ -78,7 +79,7 @@ public class VisitLogAspect {
     }
 
     /**
-     * 在请求线程中提取信息，然后异步记录
+     * 在请求线程中提取信息，交给批量写入队列
      */
     private void dispatchVisitLog(Long articleId) {
         ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
@@ -93,7 +94,7 @@ public class VisitLogAspect {
         String referer = request.getHeader("Referer");
         String pageUrl = request.getRequestURI();
 
-        asyncLogService.recordVisit(articleId, visitorId, ipAddress, userAgent, referer, pageUrl);
+        visitLogIngestor.submit(articleId, visitorId, ipAddress, userAgent, referer, pageUrl);
     }
 
     /**
@@ -0,0 +1,42 @@
+package com.blog.common.annotation;
+
+import com.blog.common.enums.ErrorCode;
+import com.blog.config.ratelimit.RateLimitAlgorithm;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 接口限流（按客户端IP计数）
+ * limit、window、algorithm 可由 blog.rate-limit.rules.{key} 覆盖，配置优先于注解中的值
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /**
+     * 规则名，同时作为 Redis 键和指标的一部分
+     */
+    String key();
+
+    /**
+     * 窗口内允许的请求数
+     */
+    int limit();
+
+    /**
+     * 窗口长度（秒）
+     */
+    int window() default 60;
+
+    RateLimitAlgorithm algorithm() default RateLimitAlgorithm.SLIDING_WINDOW;
+
+    /**
+     * 超出限制时返回的错误码
+     */
+    ErrorCode error() default ErrorCode.RATE_LIMIT_ERROR;
+}
@@ -22,6 +22,7 @@ public enum ErrorCode {
     LOGIN_FAILED(20005, "登录失败,用户名或密码错误"),
     USER_NOT_FOUND(20006, "用户不存在"),
     INVALID_CREDENTIALS(20007, "用户名或密码错误"),
+    TOKEN_REVOKED(20008, "登录状态已失效,请重新登录"),
 
     // 资源错误 (3xxxx)
     RESOURCE_NOT_FOUND(30001, "资源不存在"),
@@ -48,6 +49,7 @@ public enum ErrorCode {
     RATE_LIMIT_ERROR(50001, "请求过于频繁,请稍后再试"),
     COMMENT_RATE_LIMIT(50002, "评论过于频繁,请稍后再试"),
     MESSAGE_RATE_LIMIT(50003, "留言过于频繁,请稍后再试"),
+    SERVER_BUSY(50004, "服务繁忙,请稍后再试"),
 
     // 文件错误 (6xxxx)
     FILE_UPLOAD_ERROR(60001, "文件上传失败"),
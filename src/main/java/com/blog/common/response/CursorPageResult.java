@@ -0,0 +1,45 @@
+package com.blog.common.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页响应对象（不统计总数，适用于无限滚动）
+ *
+ * @param <T> 数据类型
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResult<T> {
+
+    /**
+     * 数据列表
+     */
+    private List<T> content;
+
+    /**
+     * 每页大小
+     */
+    private Integer size;
+
+    /**
+     * 下一页游标（没有下一页时为null）
+     */
+    private String nextCursor;
+
+    /**
+     * 是否有下一页
+     */
+    private Boolean hasNext;
+
+    /**
+     * 构建游标分页响应
+     */
+    public static <T> CursorPageResult<T> of(List<T> content, Integer size, String nextCursor) {
+        return new CursorPageResult<>(content, size, nextCursor, nextCursor != null);
+    }
+}
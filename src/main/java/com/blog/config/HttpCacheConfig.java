@@ -0,0 +1,57 @@
+package com.blog.config;
+
+import com.blog.config.properties.BlogProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+
+/**
+ * 公开接口HTTP缓存配置
+ * 1. ETag：控制器已按版本生成 ETag 的（文章详情、仪表板统计）直接使用；其余公开 GET 接口由
+ *    ShallowEtagHeaderFilter 按响应体 MD5 生成，这些接口的数据已在两级缓存中，生成响应的代价很低，
+ *    If-None-Match 命中时返回304，省去响应体传输；
+ * 2. Cache-Control：低频变更的资源允许客户端复用 max-age，文章和公告每次再验证。
+ */
+@Configuration
+@RequiredArgsConstructor
+public class HttpCacheConfig implements WebMvcConfigurer {
+
+    /**
+     * 生成 ETag 的公开接口（Servlet URL 模式）
+     */
+    private static final String[] ETAG_URL_PATTERNS = {
+            "/api/articles", "/api/articles/*",
+            "/api/categories", "/api/categories/*",
+            "/api/theme/*",
+            "/api/widgets",
+            "/api/config/*",
+            "/api/announcement/*", "/api/announcements/*", "/api/update-logs",
+            "/api/bootstrap"
+    };
+
+    private final BlogProperties blogProperties;
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns(ETAG_URL_PATTERNS);
+        registration.setName("shallowEtagHeaderFilter");
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        WebContentInterceptor interceptor = new WebContentInterceptor();
+        interceptor.addCacheMapping(CacheControl.maxAge(blogProperties.getHttpCache().getMaxAge()).cachePublic(),
+                "/api/categories/**", "/api/theme/**", "/api/widgets", "/api/config/**");
+        interceptor.addCacheMapping(CacheControl.noCache(),
+                "/api/articles/**", "/api/announcement/**", "/api/announcements/**", "/api/update-logs");
+        registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,28 @@
+package com.blog.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * MySQL全文检索函数注册
+ * 使JPQL和Criteria可以调用 MATCH ... AGAINST（返回相关度分数）：
+ * match_natural(col1, col2, keyword) 自然语言模式，match_boolean(col1, col2, keyword) 布尔模式
+ * 通过 META-INF/services/org.hibernate.boot.model.FunctionContributor 注册
+ */
+public class MySqlFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+        BasicType<Double> doubleType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE);
+
+        registry.registerPattern("match_natural",
+                "match(?1, ?2) against (?3 in natural language mode)", doubleType);
+        registry.registerPattern("match_boolean",
+                "match(?1, ?2) against (?3 in boolean mode)", doubleType);
+    }
+}
@@ -1,17 +1,33 @@
 package com.blog.config;
 
+import com.blog.config.cache.TwoLevelCacheManager;
+import com.blog.config.properties.BlogProperties;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Redis配置类
@@ -43,19 +59,70 @@ public class RedisConfig {
     }
 
     /**
-     * 配置缓存管理器
+     * 配置缓存管理器（本地Caffeine + Redis两级缓存）
      */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-            .entryTtl(Duration.ofMinutes(10)) // 默认缓存10分钟
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory, BlogProperties blogProperties,
+                                             StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+                                             MeterRegistry meterRegistry) {
+        BlogProperties.Cache cacheProperties = blogProperties.getCache();
+        RedisSerializer<Object> valueSerializer = cacheValueSerializer(objectMapper);
+
+        Map<String, RedisCacheConfiguration> configurations = new HashMap<>();
+        cacheProperties.getSpecs().keySet().forEach(name ->
+                configurations.put(name, redisCacheConfiguration(cacheProperties.resolve(name).getTtl(), valueSerializer)));
+
+        // allEntries 失效按 SCAN 分批删除，避免默认写入器的 KEYS 阻塞 Redis
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000));
+        RedisCacheManager remoteCacheManager = RedisCacheManager.builder(cacheWriter)
+            .cacheDefaults(redisCacheConfiguration(cacheProperties.getDefaults().getTtl(), valueSerializer))
+            .withInitialCacheConfigurations(configurations)
+            .build();
+        remoteCacheManager.afterPropertiesSet();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(remoteCacheManager, cacheProperties,
+                stringRedisTemplate, objectMapper, meterRegistry);
+        // 缓存失效在事务提交后执行
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    /**
+     * 订阅缓存失效广播
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           TwoLevelCacheManager cacheManager,
+                                                                           BlogProperties blogProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> cacheManager.onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(blogProperties.getCache().getInvalidationChannel()));
+        return container;
+    }
+
+    private RedisCacheConfiguration redisCacheConfiguration(Duration ttl, RedisSerializer<Object> valueSerializer) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+            .entryTtl(ttl)
             .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-            .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
+            .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer))
             .disableCachingNullValues();
+    }
 
-        return RedisCacheManager.builder(connectionFactory)
-            .cacheDefaults(config)
-            .transactionAware()
-            .build();
+    /**
+     * 缓存值序列化：沿用全局ObjectMapper的日期格式，并写入类型信息以便还原DTO
+     * 同一缓存中存放多种类型（如列表和单个DTO），因此不按缓存指定固定类型；
+     * 反序列化只允许本项目DTO和JDK集合/时间类型，防止Redis中被写入的数据触发任意类实例化
+     */
+    private RedisSerializer<Object> cacheValueSerializer(ObjectMapper objectMapper) {
+        PolymorphicTypeValidator typeValidator = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("com.blog.model.dto.")
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.time.")
+                .build();
+        ObjectMapper mapper = objectMapper.copy();
+        mapper.activateDefaultTyping(typeValidator, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(mapper);
     }
 }
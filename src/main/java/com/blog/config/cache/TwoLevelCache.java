@@ -0,0 +1,204 @@
+package com.blog.config.cache;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 两级缓存：本地 Caffeine（L1）在前，Redis（L2）在后
+ * 读取先查L1，未命中再查L2并回填L1；写入和失效同时作用于两级，并通过发布回调通知其他节点丢弃各自的L1。
+ * L1 以键的字符串形式存储，便于按广播的键精确失效。
+ * Redis 不可用时只记录日志：读取按L2未命中处理（回源加载），写入和失效只作用于L1，不影响业务请求。
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final BiConsumer<String, String> invalidationPublisher;
+    private final Counter remoteHitCounter;
+    private final Counter remoteMissCounter;
+    private final ConcurrentMap<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local, Cache remote,
+                         BiConsumer<String, String> invalidationPublisher,
+                         Counter remoteHitCounter, Counter remoteMissCounter) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+        this.remoteHitCounter = remoteHitCounter;
+        this.remoteMissCounter = remoteMissCounter;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return value;
+        }
+        value = lookupRemote(key);
+        if (value != null) {
+            local.put(localKey, value);
+        }
+        return value;
+    }
+
+    /**
+     * 供 @Cacheable(sync = true) 调用；回源结果为 null 时不缓存
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return (T) fromStoreValue(value);
+        }
+        // 同一节点上同一个键只有一个线程回源，其余线程等待结果。
+        // 回源（Redis/数据库IO）放在锁外执行：Caffeine 的 get(key, loader) 在 ConcurrentHashMap 的桶锁内调用 loader，
+        // 虚拟线程会在其中被钉住
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = loading.putIfAbsent(localKey, flight);
+        if (existing != null) {
+            return (T) fromStoreValue(await(existing));
+        }
+        try {
+            value = local.getIfPresent(localKey);
+            if (value == null) {
+                value = load(key, valueLoader);
+                if (value != null) {
+                    local.put(localKey, value);
+                }
+            }
+            flight.complete(value);
+            return (T) fromStoreValue(value);
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(localKey, flight);
+        }
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        Object value = lookupRemote(key);
+        if (value != null) {
+            return value;
+        }
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            putRemote(key, value);
+        }
+        return value;
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        putRemote(key, value);
+        local.put(localKey(key), value);
+        invalidationPublisher.accept(name, localKey(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        try {
+            remote.evict(key);
+        } catch (RuntimeException e) {
+            // L2 中的旧值只能等待其TTL过期
+            log.error("Redis缓存失效失败: cache={}, key={}", name, key, e);
+        }
+        local.invalidate(localKey(key));
+        invalidationPublisher.accept(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        try {
+            remote.clear();
+        } catch (RuntimeException e) {
+            log.error("清空Redis缓存失败: cache={}", name, e);
+        }
+        local.invalidateAll();
+        invalidationPublisher.accept(name, null);
+    }
+
+    /**
+     * 收到其他节点的失效通知时只清理本地L1
+     */
+    void evictLocal(String localKey) {
+        if (localKey == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(localKey);
+        }
+    }
+
+    private Object lookupRemote(Object key) {
+        ValueWrapper wrapper;
+        try {
+            wrapper = remote.get(key);
+        } catch (RuntimeException e) {
+            log.warn("读取Redis缓存失败，按未命中处理: cache={}, key={}", name, key, e);
+            return null;
+        }
+        Object value = wrapper != null ? wrapper.get() : null;
+        (value != null ? remoteHitCounter : remoteMissCounter).increment();
+        return value;
+    }
+
+    private void putRemote(Object key, Object value) {
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("写入Redis缓存失败: cache={}, key={}", name, key, e);
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
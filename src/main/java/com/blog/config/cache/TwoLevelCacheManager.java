@@ -0,0 +1,124 @@
+package com.blog.config.cache;
+
+import com.blog.config.properties.BlogProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 两级缓存管理器
+ * 每个缓存由有界的本地 Caffeine 和 Redis 组成（见 {@link TwoLevelCache}），容量和过期时间按缓存名在
+ * blog.cache 中配置；失效消息经 Redis 发布/订阅广播到所有节点，各节点收到后丢弃本地L1中的对应条目。
+ * 本地L1的过期时间应短于L2，即使丢失广播消息，节点间的不一致也只持续一个L1周期。
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final RedisCacheManager remoteCacheManager;
+    private final BlogProperties.Cache properties;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 本节点标识（忽略自己发出的失效消息）
+     */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager remoteCacheManager, BlogProperties.Cache properties,
+                                StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return properties.getSpecs().keySet().stream()
+                .map(this::createCache)
+                .toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    private TwoLevelCache createCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            BlogProperties.CacheSpec spec = properties.resolve(cacheName);
+            com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                    .maximumSize(spec.getLocalMaxSize())
+                    .expireAfterWrite(spec.getLocalTtl())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, local, cacheName, "tier", "l1");
+
+            Cache remote = remoteCacheManager.getCache(cacheName);
+            return new TwoLevelCache(cacheName, local, remote, this::publishInvalidation,
+                    remoteCounter(cacheName, "hit"), remoteCounter(cacheName, "miss"));
+        });
+    }
+
+    private Counter remoteCounter(String cacheName, String result) {
+        return Counter.builder("blog.cache.l2.gets")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .description("本地缓存未命中后查询Redis缓存的结果")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 广播失效消息（key为null表示清空整个缓存）；发送失败时其他节点依靠L1过期收敛
+     */
+    private void publishInvalidation(String cacheName, String key) {
+        try {
+            String message = objectMapper.writeValueAsString(new CacheInvalidation(instanceId, cacheName, key));
+            redisTemplate.convertAndSend(properties.getInvalidationChannel(), message);
+        } catch (Exception e) {
+            log.warn("发送缓存失效消息失败: cache={}, key={}", cacheName, key, e);
+        }
+    }
+
+    /**
+     * 处理其他节点发来的失效消息
+     */
+    public void onInvalidation(String message) {
+        try {
+            CacheInvalidation invalidation = objectMapper.readValue(message, CacheInvalidation.class);
+            if (instanceId.equals(invalidation.origin())) {
+                return;
+            }
+            TwoLevelCache cache = caches.get(invalidation.cacheName());
+            if (cache != null) {
+                cache.evictLocal(invalidation.key());
+            }
+        } catch (Exception e) {
+            log.warn("处理缓存失效消息失败: {}", message, e);
+        }
+    }
+
+    /**
+     * 缓存失效消息
+     */
+    record CacheInvalidation(String origin, String cacheName, String key) {
+    }
+
+}
@@ -1,8 +1,16 @@
 package com.blog.config.properties;
 
+import com.blog.config.ratelimit.RateLimitAlgorithm;
+import com.blog.config.thread.RejectionPolicy;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * 博客配置属性
@@ -48,6 +56,31 @@ public class BlogProperties {
      */
     private StaticFile staticFile = new StaticFile();
 
+    /**
+     * 访问记录分区与归档配置
+     */
+    private VisitLog visitLog = new VisitLog();
+
+    /**
+     * 两级缓存配置
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * 公开接口HTTP缓存配置
+     */
+    private HttpCache httpCache = new HttpCache();
+
+    /**
+     * 虚拟线程模式下的并发限制与诊断配置
+     */
+    private Concurrency concurrency = new Concurrency();
+
+    /**
+     * 按名称配置的业务线程池（未填写的字段沿用代码中的默认值）
+     */
+    private Map<String, ExecutorSpec> executors = new LinkedHashMap<>();
+
     @lombok.Data
     public static class Data {
         private String path;
@@ -70,6 +103,11 @@ public class BlogProperties {
         private String secret;
         private Long expiration;
         private Long refreshExpiration;
+
+        /**
+         * 管理员认证信息本地缓存时长（修改密码等操作会立即失效，其他节点最迟在该时长后生效）
+         */
+        private Duration userCacheTtl = Duration.ofSeconds(60);
     }
 
     @lombok.Data
@@ -83,9 +121,27 @@ public class BlogProperties {
 
     @lombok.Data
     public static class RateLimit {
-        private Integer commentPerMinute;
-        private Integer messagePerMinute;
-        private Integer loginPerHour;
+        /**
+         * 是否启用 @RateLimited 限流
+         */
+        private boolean enabled = true;
+
+        /**
+         * Redis 不可用后改用本地限流的时长，到期后重新尝试 Redis
+         */
+        private Duration redisRetryInterval = Duration.ofSeconds(5);
+
+        /**
+         * 按规则名覆盖 @RateLimited 中的限额（未配置的字段沿用注解中的值）
+         */
+        private Map<String, RateLimitRuleSpec> rules = new LinkedHashMap<>();
+    }
+
+    @lombok.Data
+    public static class RateLimitRuleSpec {
+        private Integer limit;
+        private Duration window;
+        private RateLimitAlgorithm algorithm;
     }
 
     @lombok.Data
@@ -107,4 +163,142 @@ public class BlogProperties {
          */
         private Integer cachePeriod = 0;
     }
+
+    @lombok.Data
+    public static class VisitLog {
+        /**
+         * 在线保留的月数（早于此的月分区导出到 {data.path}/archive 后删除）
+         */
+        private Integer retentionMonths = 12;
+
+        /**
+         * 提前创建的未来月分区数
+         */
+        private Integer futureMonths = 3;
+    }
+
+    @lombok.Data
+    public static class HttpCache {
+        /**
+         * 低频变更资源（分类、主题、小部件、站点配置）允许客户端直接复用的时长，过期后凭 ETag 再验证
+         */
+        private Duration maxAge = Duration.ofSeconds(60);
+    }
+
+    @lombok.Data
+    public static class Concurrency {
+        /**
+         * 同时处理的API请求上限；不配置时按数据库连接池大小的 inFlightPerConnection 倍计算
+         */
+        private Integer maxInFlight;
+
+        /**
+         * 每个数据库连接对应的在途请求数（多数请求命中缓存，不会全程占用连接）
+         */
+        private Integer inFlightPerConnection = 4;
+
+        /**
+         * 排队等待许可的最长时间，超时返回503
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(1);
+
+        /**
+         * 记录虚拟线程钉住（pinned）事件的阈值
+         */
+        private Duration pinnedThreshold = Duration.ofMillis(20);
+    }
+
+    @lombok.Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExecutorSpec {
+        /**
+         * 核心线程数
+         */
+        private Integer coreSize;
+
+        /**
+         * 最大线程数（队列满后才会扩容到该值）
+         */
+        private Integer maxSize;
+
+        /**
+         * 队列容量
+         */
+        private Integer queueCapacity;
+
+        /**
+         * 队列满时的拒绝策略
+         */
+        private RejectionPolicy rejectionPolicy;
+
+        /**
+         * 停机时等待队列中任务执行完的最长时间
+         */
+        private Duration awaitTermination;
+
+        /**
+         * 合并配置与默认值
+         */
+        public ExecutorSpec merge(ExecutorSpec defaults) {
+            return new ExecutorSpec(
+                    coreSize != null ? coreSize : defaults.getCoreSize(),
+                    maxSize != null ? maxSize : defaults.getMaxSize(),
+                    queueCapacity != null ? queueCapacity : defaults.getQueueCapacity(),
+                    rejectionPolicy != null ? rejectionPolicy : defaults.getRejectionPolicy(),
+                    awaitTermination != null ? awaitTermination : defaults.getAwaitTermination());
+        }
+    }
+
+    @lombok.Data
+    public static class Cache {
+        /**
+         * 未单独配置的缓存使用的默认值
+         */
+        private CacheSpec defaults = new CacheSpec(Duration.ofMinutes(10), Duration.ofMinutes(1), 1000L);
+
+        /**
+         * 按缓存名单独配置（未填写的字段沿用默认值）
+         */
+        private Map<String, CacheSpec> specs = new LinkedHashMap<>();
+
+        /**
+         * 缓存失效广播的Redis频道
+         */
+        private String invalidationChannel = "cache:invalidation";
+
+        /**
+         * 合并单个缓存的配置与默认值
+         */
+        public CacheSpec resolve(String name) {
+            CacheSpec spec = specs.get(name);
+            if (spec == null) {
+                return defaults;
+            }
+            return new CacheSpec(
+                    spec.getTtl() != null ? spec.getTtl() : defaults.getTtl(),
+                    spec.getLocalTtl() != null ? spec.getLocalTtl() : defaults.getLocalTtl(),
+                    spec.getLocalMaxSize() != null ? spec.getLocalMaxSize() : defaults.getLocalMaxSize());
+        }
+    }
+
+    @lombok.Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheSpec {
+        /**
+         * Redis（L2）过期时间
+         */
+        private Duration ttl;
+
+        /**
+         * 本地（L1）过期时间，应短于L2
+         */
+        private Duration localTtl;
+
+        /**
+         * 本地（L1）最大条目数
+         */
+        private Long localMaxSize;
+    }
 }
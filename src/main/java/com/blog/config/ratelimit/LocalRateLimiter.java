@@ -0,0 +1,73 @@
+package com.blog.config.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 本地限流（Redis 不可用时的兜底）
+ * 计数只在当前节点内有效，多节点部署时整体限额会放大为节点数倍；状态保存在 Caffeine 中，
+ * 一段时间无访问的键自动淘汰。
+ */
+class LocalRateLimiter {
+
+    private final Cache<String, State> states = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    /**
+     * @return 0 表示放行，否则为建议的重试等待毫秒数
+     */
+    long tryAcquire(String key, RateLimitRule rule) {
+        State state = states.get(key, k -> rule.algorithm() == RateLimitAlgorithm.TOKEN_BUCKET
+                ? new TokenBucket(rule.limit())
+                : new SlidingWindow());
+        return state.tryAcquire(rule.limit(), rule.window().toMillis(), System.currentTimeMillis());
+    }
+
+    private interface State {
+        long tryAcquire(int limit, long windowMillis, long now);
+    }
+
+    private static class TokenBucket implements State {
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(int capacity) {
+            this.tokens = capacity;
+            this.refilledAt = System.currentTimeMillis();
+        }
+
+        @Override
+        public synchronized long tryAcquire(int limit, long windowMillis, long now) {
+            double rate = (double) limit / windowMillis;
+            tokens = Math.min(limit, tokens + Math.max(0, now - refilledAt) * rate);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / rate));
+        }
+    }
+
+    private static class SlidingWindow implements State {
+        private final Deque<Long> timestamps = new ArrayDeque<>();
+
+        @Override
+        public synchronized long tryAcquire(int limit, long windowMillis, long now) {
+            while (!timestamps.isEmpty() && timestamps.peekFirst() <= now - windowMillis) {
+                timestamps.pollFirst();
+            }
+            if (timestamps.size() < limit) {
+                timestamps.addLast(now);
+                return 0;
+            }
+            return Math.max(1, timestamps.peekFirst() + windowMillis - now);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.blog.config.ratelimit;
+
+/**
+ * 限流算法
+ */
+public enum RateLimitAlgorithm {
+
+    /**
+     * 令牌桶：桶容量为 limit，每个窗口匀速补充 limit 个令牌，允许一定突发
+     */
+    TOKEN_BUCKET,
+
+    /**
+     * 滑动窗口：任意长度为 window 的时间段内最多 limit 次，没有固定窗口边界处的双倍突发
+     */
+    SLIDING_WINDOW
+}
@@ -0,0 +1,14 @@
+package com.blog.config.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * 限流规则（注解中的默认值与 blog.rate-limit.rules 配置合并后的结果）
+ *
+ * @param name      规则名
+ * @param algorithm 限流算法
+ * @param limit     窗口内允许的请求数
+ * @param window    窗口长度
+ */
+public record RateLimitRule(String name, RateLimitAlgorithm algorithm, int limit, Duration window) {
+}
@@ -0,0 +1,167 @@
+package com.blog.config.ratelimit;
+
+import com.blog.config.properties.BlogProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 限流器
+ * 每次判定只执行一次 Lua 脚本（读取、计算、写回和设置过期时间在 Redis 中原子完成），时间取 Redis 服务器时钟，
+ * 各节点之间不受本机时钟偏差影响（脚本中先调用 TIME 再写入，需要 Redis 5+）。
+ * 被拒绝的键在本地记录解除时间，解除前的请求直接在本地拒绝，刷接口的流量不再访问 Redis；
+ * Redis 不可用时切换到本地限流，并在 blog.rate-limit.redis-retry-interval 后重新尝试 Redis。
+ * 指标：blog.ratelimit.requests{rule, result=allowed|rejected, source=redis|local|precheck}
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final String KEY_PREFIX = "rate_limit:";
+
+    /**
+     * 令牌桶：KEYS[1] 哈希 {tokens, ts}；ARGV[1] 容量，ARGV[2] 窗口毫秒（每个窗口补满一桶）
+     * 返回 0 表示放行，否则为还需等待的毫秒数
+     */
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            local rate = capacity / window
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local wait = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+            else
+                wait = math.max(1, math.ceil((1 - tokens) / rate))
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], window)
+            return wait
+            """, Long.class);
+
+    /**
+     * 滑动窗口（有序集合记录窗口内每次请求的时间）：ARGV[1] 次数上限，ARGV[2] 窗口毫秒，ARGV[3] 本次请求的唯一成员
+     * 被拒绝的请求不计入窗口；返回 0 表示放行，否则为最早一次请求移出窗口还需的毫秒数
+     */
+    private static final RedisScript<Long> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>("""
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            if redis.call('ZCARD', KEYS[1]) < limit then
+                redis.call('ZADD', KEYS[1], now, ARGV[3])
+                redis.call('PEXPIRE', KEYS[1], window)
+                return 0
+            end
+            local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+            return math.max(1, tonumber(oldest[2]) + window - now)
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration redisRetryInterval;
+    private final LocalRateLimiter localLimiter = new LocalRateLimiter();
+
+    /**
+     * 已被拒绝的键 -> 解除时间（毫秒时间戳）
+     */
+    private final Cache<String, Long> rejectedUntil = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .build();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private volatile long redisUnavailableUntil;
+
+    public RateLimiter(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry, BlogProperties blogProperties) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.redisRetryInterval = blogProperties.getRateLimit().getRedisRetryInterval();
+    }
+
+    /**
+     * 尝试通过限流
+     *
+     * @param rule     限流规则
+     * @param identity 计数对象（如客户端IP）
+     * @return 0 表示放行，否则为建议的重试等待毫秒数
+     */
+    public long tryAcquire(RateLimitRule rule, String identity) {
+        String key = KEY_PREFIX + rule.name() + ":" + suffix(rule.algorithm()) + ":" + identity;
+        long now = System.currentTimeMillis();
+
+        Long until = rejectedUntil.getIfPresent(key);
+        if (until != null && until > now) {
+            return record(rule, "precheck", until - now);
+        }
+
+        long wait;
+        String source;
+        if (now < redisUnavailableUntil) {
+            wait = localLimiter.tryAcquire(key, rule);
+            source = "local";
+        } else {
+            try {
+                wait = evalRedis(key, rule);
+                source = "redis";
+            } catch (Exception e) {
+                redisUnavailableUntil = now + redisRetryInterval.toMillis();
+                log.warn("Redis限流不可用，{}秒内使用本地限流: {}", redisRetryInterval.toSeconds(), e.getMessage());
+                wait = localLimiter.tryAcquire(key, rule);
+                source = "local";
+            }
+        }
+
+        if (wait > 0) {
+            rejectedUntil.put(key, now + wait);
+        }
+        return record(rule, source, wait);
+    }
+
+    private long evalRedis(String key, RateLimitRule rule) {
+        String limit = String.valueOf(rule.limit());
+        String window = String.valueOf(rule.window().toMillis());
+        Long wait = rule.algorithm() == RateLimitAlgorithm.TOKEN_BUCKET
+                ? redisTemplate.execute(TOKEN_BUCKET_SCRIPT, Collections.singletonList(key), limit, window)
+                : redisTemplate.execute(SLIDING_WINDOW_SCRIPT, Collections.singletonList(key), limit, window,
+                        UUID.randomUUID().toString());
+        return wait != null ? wait : 0;
+    }
+
+    private long record(RateLimitRule rule, String source, long wait) {
+        String result = wait > 0 ? "rejected" : "allowed";
+        counters.computeIfAbsent(rule.name() + ":" + result + ":" + source, k -> Counter.builder("blog.ratelimit.requests")
+                .tag("rule", rule.name())
+                .tag("result", result)
+                .tag("source", source)
+                .description("限流判定次数")
+                .register(meterRegistry)).increment();
+        return wait;
+    }
+
+    /**
+     * 不同算法的数据结构不同（哈希/有序集合），键名区分算法，切换算法时不会读到另一种结构
+     */
+    private static String suffix(RateLimitAlgorithm algorithm) {
+        return algorithm == RateLimitAlgorithm.TOKEN_BUCKET ? "tb" : "sw";
+    }
+}
@@ -0,0 +1,139 @@
+package com.blog.config.thread;
+
+import com.blog.config.properties.BlogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 业务线程池配置
+ * 按负载拆分为有界线程池，互不影响：
+ * - applicationTaskExecutor（别名 taskExecutor）：未指定执行器的 @Async 和 MVC 异步请求；
+ * - operationLogExecutor：操作日志写入（遥测，队列满丢弃最旧）；
+ * - visitLogExecutor：每日访问量汇总写入（遥测，队列满丢弃最旧，由每晚对账修正）；
+ * - maintenanceExecutor：清理、对账、分区维护和启动时的重建任务（关键任务，队列满由调用方执行）；
+ * - bootstrapExecutor：首页数据并发加载（队列满由请求线程执行）。
+ * 每个线程池记录排队等待和执行耗时（blog.executor.wait / blog.executor.execution）及拒绝次数（blog.executor.rejected），
+ * 队列深度和活跃线程数由 Spring Boot 的 executor.* 指标提供；停机时停止接收新任务，并等待队列中的任务执行完。
+ * 虚拟线程模式下线程池改用虚拟线程，容量与拒绝策略不变。
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class ExecutorConfig {
+
+    private final BlogProperties blogProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor() {
+        return build("application", "async-",
+                spec(4, 8, 500, RejectionPolicy.CALLER_RUNS, Duration.ofSeconds(30)));
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor operationLogExecutor() {
+        return build("operation-log", "op-log-",
+                spec(1, 2, 1000, RejectionPolicy.DISCARD_OLDEST, Duration.ofSeconds(10)));
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor visitLogExecutor() {
+        return build("visit-log", "visit-log-",
+                spec(1, 2, 1000, RejectionPolicy.DISCARD_OLDEST, Duration.ofSeconds(10)));
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor maintenanceExecutor() {
+        return build("maintenance", "maintenance-",
+                spec(2, 4, 50, RejectionPolicy.CALLER_RUNS, Duration.ofSeconds(60)));
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor bootstrapExecutor() {
+        return build("bootstrap", "bootstrap-",
+                spec(8, 16, 200, RejectionPolicy.CALLER_RUNS, Duration.ofSeconds(5)));
+    }
+
+    private ThreadPoolTaskExecutor build(String name, String threadNamePrefix, BlogProperties.ExecutorSpec defaults) {
+        BlogProperties.ExecutorSpec spec = defaults;
+        BlogProperties.ExecutorSpec configured = blogProperties.getExecutors().get(name);
+        if (configured != null) {
+            spec = configured.merge(defaults);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(spec.getCoreSize());
+        executor.setMaxPoolSize(Math.max(spec.getCoreSize(), spec.getMaxSize()));
+        executor.setQueueCapacity(spec.getQueueCapacity());
+        executor.setThreadNamePrefix(threadNamePrefix);
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+        executor.setRejectedExecutionHandler(countRejections(name, spec.getRejectionPolicy()));
+        executor.setTaskDecorator(timed(name));
+        // 停机：依赖线程池的组件先销毁（如访问日志写入线程写完剩余事件后提交的汇总任务），线程池随后关闭并等待队列中的任务执行完
+        executor.setAcceptTasksAfterContextClose(true);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(spec.getAwaitTermination().toMillis());
+        log.info("线程池[{}]: core={}, max={}, queue={}, rejection={}", name,
+                spec.getCoreSize(), spec.getMaxSize(), spec.getQueueCapacity(), spec.getRejectionPolicy());
+        return executor;
+    }
+
+    private RejectedExecutionHandler countRejections(String name, RejectionPolicy policy) {
+        Counter rejected = Counter.builder("blog.executor.rejected")
+                .tag("name", name)
+                .tag("policy", policy.name())
+                .description("队列已满触发拒绝策略的任务数")
+                .register(meterRegistry);
+        RejectedExecutionHandler delegate = policy.handler();
+        return (task, pool) -> {
+            rejected.increment();
+            delegate.rejectedExecution(task, pool);
+        };
+    }
+
+    private TaskDecorator timed(String name) {
+        Timer waitTimer = Timer.builder("blog.executor.wait")
+                .tag("name", name)
+                .description("任务提交到开始执行的排队时间")
+                .register(meterRegistry);
+        Timer executionTimer = Timer.builder("blog.executor.execution")
+                .tag("name", name)
+                .description("任务执行时间")
+                .register(meterRegistry);
+        return task -> {
+            long submitted = System.nanoTime();
+            return () -> {
+                long started = System.nanoTime();
+                waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    executionTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            };
+        };
+    }
+
+    private static BlogProperties.ExecutorSpec spec(int coreSize, int maxSize, int queueCapacity,
+                                                    RejectionPolicy rejectionPolicy, Duration awaitTermination) {
+        return new BlogProperties.ExecutorSpec(coreSize, maxSize, queueCapacity, rejectionPolicy, awaitTermination);
+    }
+}
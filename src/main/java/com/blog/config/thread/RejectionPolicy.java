@@ -0,0 +1,39 @@
+package com.blog.config.thread;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 线程池队列已满时的拒绝策略
+ */
+public enum RejectionPolicy {
+
+    /**
+     * 抛出 RejectedExecutionException
+     */
+    ABORT,
+
+    /**
+     * 由提交任务的线程自己执行（关键任务，不丢弃，同时对提交方形成背压）
+     */
+    CALLER_RUNS,
+
+    /**
+     * 丢弃新任务
+     */
+    DISCARD,
+
+    /**
+     * 丢弃队列中最旧的任务（遥测类任务，保留最新数据）
+     */
+    DISCARD_OLDEST;
+
+    public RejectedExecutionHandler handler() {
+        return switch (this) {
+            case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case DISCARD -> new ThreadPoolExecutor.DiscardPolicy();
+            case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+        };
+    }
+}
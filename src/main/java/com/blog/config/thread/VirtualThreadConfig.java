@@ -0,0 +1,59 @@
+package com.blog.config.thread;
+
+import com.blog.config.properties.BlogProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * 虚拟线程模式配置（spring.threads.virtual.enabled=true 且运行在 Java 21+ 时生效）
+ * Tomcat 请求线程、@Async 和定时任务执行器由 Spring Boot 切换为虚拟线程，这里补充：
+ * 1. 按数据库连接池大小限制在途API请求；
+ * 2. 钉住诊断。
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(BlogProperties blogProperties,
+                                                                                 DataSource dataSource,
+                                                                                 ObjectMapper objectMapper,
+                                                                                 MeterRegistry meterRegistry) {
+        BlogProperties.Concurrency concurrency = blogProperties.getConcurrency();
+        int maxInFlight = resolveMaxInFlight(concurrency, dataSource);
+        log.info("虚拟线程模式: 在途API请求上限{}", maxInFlight);
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(maxInFlight, concurrency.getAcquireTimeout(), objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setName("concurrencyLimitFilter");
+        // 在安全过滤器之前执行，被拒绝的请求不再做认证
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(BlogProperties blogProperties,
+                                                                   MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(blogProperties.getConcurrency().getPinnedThreshold(), meterRegistry);
+    }
+
+    private static int resolveMaxInFlight(BlogProperties.Concurrency concurrency, DataSource dataSource) {
+        if (concurrency.getMaxInFlight() != null && concurrency.getMaxInFlight() > 0) {
+            return concurrency.getMaxInFlight();
+        }
+        int poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+        return poolSize * concurrency.getInFlightPerConnection();
+    }
+}
@@ -36,10 +36,12 @@ public class AdminArticleController {
             @Parameter(description = "每页数量") @RequestParam(defaultValue = "20") int size,
             @Parameter(description = "搜索关键词（标题/摘要）") @RequestParam(required = false) String keyword,
             @Parameter(description = "分类ID") @RequestParam(required = false) Long categoryId,
-            @Parameter(description = "状态（0=已删除, 1=已发布, 2=草稿）") @RequestParam(required = false) Integer status) {
+            @Parameter(description = "状态（0=已删除, 1=已发布, 2=草稿）") @RequestParam(required = false) Integer status,
+            @Parameter(description = "关键词按布尔模式解析（支持 + - \" * 等运算符）") @RequestParam(defaultValue = "false") boolean booleanMode) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        PageResult<ArticleListResponse> result = articleService.getArticleListForAdmin(pageable, keyword, categoryId, status);
+        PageResult<ArticleListResponse> result = articleService.getArticleListForAdmin(pageable, keyword, categoryId, status,
+                booleanMode);
         return Result.success(result);
     }
 
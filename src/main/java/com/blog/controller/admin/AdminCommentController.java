@@ -1,5 +1,6 @@
 package com.blog.controller.admin;
 
+import com.blog.common.response.CursorPageResult;
 import com.blog.common.response.PageResult;
 import com.blog.common.response.Result;
 import com.blog.model.dto.comment.AdminCommentResponse;
@@ -44,6 +45,19 @@ public class AdminCommentController {
         return Result.success(result);
     }
 
+    @Operation(summary = "获取评论管理列表（游标分页）", description = "按创建时间倒序游标分页获取评论，不统计总数")
+    @GetMapping("/cursor")
+    public Result<CursorPageResult<AdminCommentResponse>> getCommentsForAdminByCursor(
+            @Parameter(description = "游标（上一页返回的nextCursor，第一页不传）") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "文章ID筛选") @RequestParam(required = false) Long articleId,
+            @Parameter(description = "状态筛选(1=已审核, 2=待审核)") @RequestParam(required = false) Integer status) {
+
+        size = Math.max(1, Math.min(size, 100));
+        CursorPageResult<AdminCommentResponse> result = commentService.getCommentsForAdminByCursor(cursor, size, articleId, status);
+        return Result.success(result);
+    }
+
     @Operation(summary = "删除评论", description = "删除评论（级联删除所有子评论）")
     @DeleteMapping("/{id}")
     public Result<Void> deleteComment(
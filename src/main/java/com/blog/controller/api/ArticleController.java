@@ -1,5 +1,6 @@
 package com.blog.controller.api;
 
+import com.blog.common.response.CursorPageResult;
 import com.blog.common.response.PageResult;
 import com.blog.common.response.Result;
 import com.blog.model.dto.article.ArticleDetailResponse;
@@ -13,6 +14,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -41,10 +43,41 @@ public class ArticleController {
         return Result.success(result);
     }
 
-    @Operation(summary = "获取文章详情", description = "根据ID获取已发布文章的详细信息")
+    @Operation(summary = "获取文章列表（游标分页）", description = "按置顶、创建时间倒序游标分页获取已发布文章，不统计总数，适用于无限滚动")
+    @GetMapping("/cursor")
+    public Result<CursorPageResult<ArticleListResponse>> getArticleListByCursor(
+            @Parameter(description = "分类ID") @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "游标（上一页返回的nextCursor，第一页不传）") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "10") int size) {
+
+        size = Math.max(1, Math.min(size, 100));
+        CursorPageResult<ArticleListResponse> result = articleService.getArticleListByCursor(categoryId, cursor, size);
+        return Result.success(result);
+    }
+
+    @Operation(summary = "全文搜索文章", description = "检索标题、摘要和正文，按相关度排序，返回高亮标题和正文片段")
+    @GetMapping("/search")
+    public Result<PageResult<ArticleListResponse>> searchArticles(
+            @Parameter(description = "搜索关键词") @RequestParam String keyword,
+            @Parameter(description = "页码（从0开始）") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "10") int size) {
+
+        size = Math.max(1, Math.min(size, 50));
+        page = Math.max(0, page);
+        PageResult<ArticleListResponse> result = articleService.searchArticles(keyword, page, size);
+        return Result.success(result);
+    }
+
+    @Operation(summary = "获取文章详情", description = "根据ID获取已发布文章的详细信息，支持 If-None-Match 条件请求")
     @GetMapping("/{id}")
     public Result<ArticleDetailResponse> getArticleDetail(
-            @Parameter(description = "文章ID") @PathVariable Long id) {
+            @Parameter(description = "文章ID") @PathVariable Long id,
+            WebRequest webRequest) {
+        // 先按版本列比对 ETag，未变化时直接返回304，不读取和渲染正文
+        String etag = articleService.getArticleDetailETag(id);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         ArticleDetailResponse response = articleService.getArticleDetail(id);
         return Result.success(response);
     }
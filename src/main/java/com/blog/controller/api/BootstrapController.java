@@ -0,0 +1,53 @@
+package com.blog.controller.api;
+
+import com.blog.common.response.Result;
+import com.blog.model.dto.bootstrap.BootstrapResponse;
+import com.blog.service.BootstrapService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * 首页启动数据API控制器
+ */
+@Tag(name = "首页启动数据", description = "首屏所需数据的聚合接口")
+@RestController
+@RequestMapping("/api/bootstrap")
+@RequiredArgsConstructor
+public class BootstrapController {
+
+    /**
+     * 浏览器/CDN可缓存时长（各部分本身已在服务端缓存，这里只减少重复请求）
+     */
+    private static final Duration MAX_AGE = Duration.ofSeconds(30);
+
+    private final BootstrapService bootstrapService;
+
+    @Operation(summary = "获取首页启动数据",
+            description = "一次返回文章列表第一页、置顶/热门文章、分类、小工具、主题、公告和公开配置")
+    @GetMapping
+    public ResponseEntity<Result<BootstrapResponse>> getBootstrap(
+            @Parameter(description = "文章列表每页数量") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "热门文章数量") @RequestParam(defaultValue = "10") int hotLimit) {
+
+        size = Math.max(1, Math.min(size, 100));
+        hotLimit = Math.max(1, Math.min(hotLimit, 50));
+        BootstrapResponse response = bootstrapService.getBootstrap(size, hotLimit);
+        // 有部分加载失败时不允许缓存，避免浏览器/CDN把残缺的数据当作完整结果缓存
+        CacheControl cacheControl = response.isComplete()
+                ? CacheControl.maxAge(MAX_AGE).cachePublic()
+                : CacheControl.noStore();
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(Result.success(response));
+    }
+}
@@ -1,10 +1,14 @@
 package com.blog.controller.api;
 
+import com.blog.common.annotation.RateLimited;
+import com.blog.common.enums.ErrorCode;
+import com.blog.common.response.CursorPageResult;
 import com.blog.common.response.Result;
 import com.blog.model.dto.comment.CommentCreateRequest;
-import com.blog.model.dto.comment.CommentTreeResponse;
+import com.blog.model.dto.comment.CommentThreadResponse;
 import com.blog.service.CommentService;
 import com.blog.util.IpUtil;
+import com.fasterxml.jackson.databind.util.RawValue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,8 +17,6 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * 评论公开API控制器
  */
@@ -26,16 +28,40 @@ public class CommentController {
 
     private final CommentService commentService;
 
-    @Operation(summary = "获取文章评论", description = "获取指定文章的所有评论（树形结构）")
+    @Operation(summary = "获取文章评论", description = "获取指定文章的所有评论（树形结构，元素为 CommentTreeResponse，子评论在 children 中）")
     @GetMapping("/article/{articleId}")
-    public Result<List<CommentTreeResponse>> getArticleComments(
+    public Result<RawValue> getArticleComments(
             @Parameter(description = "文章ID") @PathVariable Long articleId) {
-        List<CommentTreeResponse> comments = commentService.getArticleComments(articleId);
-        return Result.success(comments);
+        return Result.success(commentService.getArticleComments(articleId));
+    }
+
+    @Operation(summary = "获取文章评论（分页）", description = "按发表时间正序游标分页获取顶级评论，每条附带回复数和最早的若干条回复")
+    @GetMapping("/article/{articleId}/threads")
+    public Result<CursorPageResult<CommentThreadResponse>> getArticleCommentThreads(
+            @Parameter(description = "文章ID") @PathVariable Long articleId,
+            @Parameter(description = "游标（上一页返回的nextCursor，第一页不传）") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页顶级评论数") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "每条顶级评论带出的回复数") @RequestParam(defaultValue = "3") int replies) {
+
+        size = Math.max(1, Math.min(size, 50));
+        replies = Math.max(0, Math.min(replies, 10));
+        return Result.success(commentService.getArticleCommentThreads(articleId, cursor, size, replies));
+    }
+
+    @Operation(summary = "展开评论回复", description = "游标分页获取评论的直接回复，每条附带其回复数，可继续展开")
+    @GetMapping("/{commentId}/replies")
+    public Result<CursorPageResult<CommentThreadResponse>> getCommentReplies(
+            @Parameter(description = "评论ID") @PathVariable Long commentId,
+            @Parameter(description = "游标（楼层的repliesCursor或上一页返回的nextCursor，从头展开时不传）") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "10") int size) {
+
+        size = Math.max(1, Math.min(size, 50));
+        return Result.success(commentService.getCommentReplies(commentId, cursor, size));
     }
 
     @Operation(summary = "发表评论", description = "发表新评论或回复评论（支持楼中楼）")
     @PostMapping
+    @RateLimited(key = "comment", limit = 3, window = 60, error = ErrorCode.COMMENT_RATE_LIMIT)
     public Result<Long> createComment(
             @Valid @RequestBody CommentCreateRequest request,
             HttpServletRequest httpRequest) {
@@ -1,5 +1,8 @@
 package com.blog.controller.api;
 
+import com.blog.common.annotation.RateLimited;
+import com.blog.common.enums.ErrorCode;
+import com.blog.common.response.CursorPageResult;
 import com.blog.common.response.PageResult;
 import com.blog.common.response.Result;
 import com.blog.model.dto.message.MessageCreateRequest;
@@ -42,6 +45,17 @@ public class MessageController {
         return Result.success(result);
     }
 
+    @Operation(summary = "获取留言列表（游标分页）", description = "按创建时间倒序游标分页获取留言，不统计总数，适用于无限滚动")
+    @GetMapping("/cursor")
+    public Result<CursorPageResult<MessageResponse>> getMessageListByCursor(
+            @Parameter(description = "游标（上一页返回的nextCursor，第一页不传）") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "10") int size) {
+
+        size = Math.max(1, Math.min(size, 100));
+        CursorPageResult<MessageResponse> result = messageService.getMessageListByCursor(cursor, size);
+        return Result.success(result);
+    }
+
     @Operation(summary = "获取友情链接列表", description = "获取所有标记为友情链接的留言")
     @GetMapping("/friends")
     public Result<List<MessageResponse>> getFriendLinks() {
@@ -51,6 +65,7 @@ public class MessageController {
 
     @Operation(summary = "发表留言", description = "发表新留言")
     @PostMapping
+    @RateLimited(key = "message", limit = 3, window = 60, error = ErrorCode.MESSAGE_RATE_LIMIT)
     public Result<Long> createMessage(
             @Valid @RequestBody MessageCreateRequest request,
             HttpServletRequest httpRequest) {
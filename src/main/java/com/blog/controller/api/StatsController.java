@@ -2,7 +2,9 @@ package com.blog.controller.api;
 
 import com.blog.common.response.Result;
 import com.blog.model.dto.statistics.DashboardStatsResponse;
+import com.blog.model.dto.statistics.DashboardStatsSnapshot;
 import com.blog.service.StatisticsService;
+import com.blog.service.StatsSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.Map;
@@ -27,16 +30,19 @@ import java.util.Map;
 public class StatsController {
 
     private final StatisticsService statisticsService;
+    private final StatsSnapshotService statsSnapshotService;
 
     /**
-     * 获取仪表板统计数据
+     * 获取仪表板统计数据（读取定时刷新的内存快照，支持If-None-Match条件请求）
      */
     @Operation(summary = "获取仪表板统计数据", description = "获取网站运营的各项统计数据")
     @GetMapping
-    public Result<DashboardStatsResponse> getDashboardStats() {
-        log.info("获取仪表板统计数据");
-        DashboardStatsResponse stats = statisticsService.getDashboardStats();
-        return Result.success(stats);
+    public Result<DashboardStatsResponse> getDashboardStats(WebRequest webRequest) {
+        DashboardStatsSnapshot snapshot = statsSnapshotService.getDashboardSnapshot();
+        if (webRequest.checkNotModified(snapshot.getEtag())) {
+            return null;
+        }
+        return Result.success(snapshot.getStats());
     }
 
     /**
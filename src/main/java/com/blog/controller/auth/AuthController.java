@@ -1,9 +1,10 @@
 package com.blog.controller.auth;
 
+import com.blog.common.annotation.RateLimited;
 import com.blog.common.response.Result;
 import com.blog.model.dto.auth.LoginRequest;
 import com.blog.model.dto.auth.LoginResponse;
-import com.blog.security.jwt.JwtTokenProvider;
+import com.blog.model.dto.auth.RefreshTokenRequest;
 import com.blog.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -21,27 +22,44 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
-    private final JwtTokenProvider jwtTokenProvider;
 
-    @Operation(summary = "管理员登录", description = "使用用户名和密码登录，返回JWT Token")
+    @Operation(summary = "管理员登录", description = "使用用户名和密码登录，返回访问令牌和刷新令牌")
     @PostMapping("/login")
+    @RateLimited(key = "login", limit = 10, window = 3600)
     public Result<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest,
                                         @RequestHeader(value = "X-Real-IP", required = false) String ipAddress) {
         LoginResponse response = authService.login(loginRequest, ipAddress);
         return Result.success(response);
     }
 
+    @Operation(summary = "刷新Token", description = "使用刷新令牌换取新的访问令牌和刷新令牌，旧刷新令牌随即失效")
+    @PostMapping("/refresh")
+    public Result<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return Result.success(authService.refreshToken(request.getRefreshToken()));
+    }
+
+    @Operation(summary = "登出", description = "吊销当前访问令牌及其登录会话的刷新令牌")
+    @PostMapping("/logout")
+    public Result<Void> logout(@RequestHeader(value = "Authorization", required = false) String token,
+                               @RequestBody(required = false) RefreshTokenRequest request) {
+        authService.logout(stripBearer(token), request != null ? request.getRefreshToken() : null);
+        return Result.success();
+    }
+
     @Operation(summary = "验证Token", description = "验证JWT Token是否有效")
     @GetMapping("/validate")
     public Result<Boolean> validateToken(@RequestHeader("Authorization") String token) {
         try {
-            if (token.startsWith("Bearer ")) {
-                token = token.substring(7);
-            }
-            boolean isValid = jwtTokenProvider.validateToken(token);
-            return Result.success(isValid);
+            return Result.success(authService.validateAccessToken(stripBearer(token)));
         } catch (Exception e) {
             return Result.success(false);
         }
     }
+
+    private static String stripBearer(String token) {
+        if (token != null && token.startsWith("Bearer ")) {
+            return token.substring(7);
+        }
+        return token;
+    }
 }
@@ -20,6 +20,8 @@ public interface ArticleMapper {
      */
     @Mapping(source = "category.id", target = "categoryId")
     @Mapping(source = "category.name", target = "categoryName")
+    @Mapping(target = "highlightTitle", ignore = true)
+    @Mapping(target = "snippet", ignore = true)
     ArticleListResponse toListResponse(Article article);
 
     /**
@@ -31,6 +33,8 @@ public interface ArticleMapper {
     @Mapping(target = "content", ignore = true)
     @Mapping(target = "markdownContent", ignore = true)
     @Mapping(target = "toc", ignore = true)
+    @Mapping(target = "wordCount", ignore = true)
+    @Mapping(target = "readingTime", ignore = true)
     ArticleDetailResponse toDetailResponse(Article article);
 
     /**
@@ -0,0 +1,28 @@
+package com.blog.model.dto.announcement;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 当前有效公告的缓存快照
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveAnnouncementsSnapshot {
+
+    /**
+     * 当前有效的公告（按创建时间倒序）
+     */
+    private List<AnnouncementResponse> announcements = new ArrayList<>();
+
+    /**
+     * 快照失效时间（下一条公告开始或当前公告结束的时刻，null表示没有待发生的变化）
+     */
+    private LocalDateTime validUntil;
+}
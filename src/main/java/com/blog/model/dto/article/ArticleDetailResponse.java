@@ -31,6 +31,12 @@ public class ArticleDetailResponse {
     @Schema(description = "目录（HTML）")
     private String toc;
 
+    @Schema(description = "字数")
+    private Integer wordCount;
+
+    @Schema(description = "预计阅读时长（分钟）")
+    private Integer readingTime;
+
     @Schema(description = "摘要")
     private String summary;
 
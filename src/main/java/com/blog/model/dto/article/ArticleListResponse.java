@@ -60,4 +60,10 @@ public class ArticleListResponse {
 
     @Schema(description = "是否存在未保存的草稿修改")
     private Boolean hasDraft;
+
+    @Schema(description = "高亮标题（仅全文搜索结果，命中词以<mark>包裹）")
+    private String highlightTitle;
+
+    @Schema(description = "正文摘要片段（仅全文搜索结果，命中词以<mark>包裹）")
+    private String snippet;
 }
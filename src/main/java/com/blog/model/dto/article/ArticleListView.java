@@ -0,0 +1,42 @@
+package com.blog.model.dto.article;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章列表投影（只查询列表所需列，分类名称在同一查询中关联获取）
+ */
+public interface ArticleListView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getSummary();
+
+    String getCoverImage();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    Long getViews();
+
+    Integer getLikes();
+
+    Integer getCommentCount();
+
+    Integer getIsTop();
+
+    Integer getStatus();
+
+    LocalDateTime getPublishedAt();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getDeletedAt();
+
+    /**
+     * Markdown文件路径（不返回给前端，用于生成搜索摘要片段）
+     */
+    String getContentPath();
+}
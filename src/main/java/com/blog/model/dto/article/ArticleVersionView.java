@@ -0,0 +1,21 @@
+package com.blog.model.dto.article;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章详情版本投影（生成 ETag 用，只查询影响详情响应的版本列，不读取正文）
+ */
+public interface ArticleVersionView {
+
+    LocalDateTime getUpdatedAt();
+
+    Long getViews();
+
+    Integer getLikes();
+
+    Integer getCommentCount();
+
+    Integer getIsTop();
+
+    LocalDateTime getCategoryUpdatedAt();
+}
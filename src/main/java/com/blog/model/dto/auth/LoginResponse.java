@@ -17,6 +17,9 @@ public class LoginResponse {
     @Schema(description = "访问令牌")
     private String accessToken;
 
+    @Schema(description = "刷新令牌（每次刷新后更换，旧刷新令牌立即失效）")
+    private String refreshToken;
+
     @Schema(description = "令牌类型", example = "Bearer")
     private String tokenType = "Bearer";
 
@@ -26,8 +29,9 @@ public class LoginResponse {
     @Schema(description = "昵称")
     private String nickname;
 
-    public LoginResponse(String accessToken, String username, String nickname) {
+    public LoginResponse(String accessToken, String refreshToken, String username, String nickname) {
         this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
         this.username = username;
         this.nickname = nickname;
     }
@@ -0,0 +1,49 @@
+package com.blog.model.dto.bootstrap;
+
+import com.blog.common.response.PageResult;
+import com.blog.model.dto.announcement.AnnouncementResponse;
+import com.blog.model.dto.article.ArticleListResponse;
+import com.blog.model.dto.category.CategoryResponse;
+import com.blog.model.dto.theme.ThemeResponse;
+import com.blog.model.dto.widget.WidgetResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 首页启动数据响应DTO
+ * 某一部分加载失败时该字段为null，其余部分照常返回，complete 为 false
+ */
+@Data
+@Schema(description = "首页启动数据")
+public class BootstrapResponse {
+
+    @Schema(description = "文章列表第一页")
+    private PageResult<ArticleListResponse> articles;
+
+    @Schema(description = "置顶文章")
+    private List<ArticleListResponse> topArticles;
+
+    @Schema(description = "热门文章")
+    private List<ArticleListResponse> hotArticles;
+
+    @Schema(description = "分类列表")
+    private List<CategoryResponse> categories;
+
+    @Schema(description = "已应用的小工具")
+    private List<WidgetResponse> widgets;
+
+    @Schema(description = "当前主题")
+    private ThemeResponse theme;
+
+    @Schema(description = "当前有效的公告")
+    private List<AnnouncementResponse> announcements;
+
+    @Schema(description = "公开配置")
+    private Map<String, String> config;
+
+    @Schema(description = "是否所有部分都加载成功（为false时部分字段因失败或超时为null）")
+    private boolean complete = true;
+}
@@ -0,0 +1,62 @@
+package com.blog.model.dto.comment;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 评论线程响应DTO（分页加载，回复按需展开）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "评论线程响应")
+public class CommentThreadResponse {
+
+    @Schema(description = "评论ID")
+    private Long id;
+
+    @Schema(description = "文章ID")
+    private Long articleId;
+
+    @Schema(description = "父评论ID")
+    private Long parentId;
+
+    @Schema(description = "评论者昵称")
+    private String nickname;
+
+    @Schema(description = "评论者邮箱")
+    private String email;
+
+    @Schema(description = "评论者网站")
+    private String website;
+
+    @Schema(description = "头像URL")
+    private String avatar;
+
+    @Schema(description = "评论内容")
+    private String content;
+
+    @Schema(description = "状态: 1=已审核, 2=待审核")
+    private Integer status;
+
+    @Schema(description = "创建时间")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "直接回复数")
+    private Long replyCount = 0L;
+
+    @Schema(description = "最早的若干条直接回复（其余通过展开接口获取）")
+    private List<CommentThreadResponse> replies = new ArrayList<>();
+
+    @Schema(description = "是否还有未带出的回复")
+    private Boolean hasMoreReplies = false;
+
+    @Schema(description = "继续展开回复时传入的游标（为空时从第一条回复开始）")
+    private String repliesCursor;
+}
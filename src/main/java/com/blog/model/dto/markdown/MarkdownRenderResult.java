@@ -0,0 +1,54 @@
+package com.blog.model.dto.markdown;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Markdown渲染结果（一次解析得到HTML、目录、标题锚点和字数统计）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkdownRenderResult {
+
+    /**
+     * 渲染后的HTML（标题已注入与目录一致的id）
+     */
+    private String html = "";
+
+    /**
+     * 目录HTML（H1-H3）
+     */
+    private String toc = "";
+
+    /**
+     * 全部标题及锚点（按文档顺序）
+     */
+    private List<HeadingAnchor> headings = new ArrayList<>();
+
+    /**
+     * 字数（中日韩字符按字计，其他按词计）
+     */
+    private int wordCount;
+
+    /**
+     * 预计阅读时长（分钟）
+     */
+    private int readingTime;
+
+    /**
+     * 标题锚点
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HeadingAnchor {
+        private int level;
+        private String text;
+        private String anchor;
+    }
+}
@@ -18,6 +18,16 @@ public class DashboardStatsResponse {
      */
     private Long todayViews;
 
+    /**
+     * 累计独立访客数（HyperLogLog估计值）
+     */
+    private Long totalUniqueVisitors;
+
+    /**
+     * 今日独立访客数（HyperLogLog估计值）
+     */
+    private Long todayUniqueVisitors;
+
     /**
      * 文章总数
      */
@@ -0,0 +1,29 @@
+package com.blog.model.dto.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 仪表板统计快照
+ */
+@Data
+@AllArgsConstructor
+public class DashboardStatsSnapshot {
+
+    /**
+     * 统计数据
+     */
+    private DashboardStatsResponse stats;
+
+    /**
+     * 内容摘要（用作ETag）
+     */
+    private String etag;
+
+    /**
+     * 计算时间
+     */
+    private LocalDateTime computedAt;
+}
@@ -23,6 +23,12 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Long
     @Query("SELECT a FROM Announcement a WHERE a.enabled = 1 AND a.startTime <= :now AND a.endTime >= :now ORDER BY a.createdAt DESC")
     List<Announcement> findActiveAnnouncement(@Param("now") LocalDateTime now, org.springframework.data.domain.Pageable pageable);
 
+    /**
+     * 查询下一条将要开始的已启用公告的开始时间
+     */
+    @Query("SELECT MIN(a.startTime) FROM Announcement a WHERE a.enabled = 1 AND a.startTime > :now")
+    LocalDateTime findNextStartTime(@Param("now") LocalDateTime now);
+
     /**
      * 查询所有公告（按创建时间倒序）
      */
@@ -1,5 +1,7 @@
 package com.blog.repository;
 
+import com.blog.model.dto.article.ArticleListView;
+import com.blog.model.dto.article.ArticleVersionView;
 import com.blog.model.entity.Article;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,9 +24,13 @@ import java.util.Optional;
 public interface ArticleRepository extends JpaRepository<Article, Long>, JpaSpecificationExecutor<Article> {
 
     /**
-     * 根据状态查询文章（分页，置顶优先）
+     * 文章列表投影查询的公共部分（列表列 + 分类名称）
      */
-    Page<Article> findByStatusOrderByIsTopDescCreatedAtDesc(Integer status, Pageable pageable);
+    String LIST_VIEW_SELECT = "SELECT a.id AS id, a.title AS title, a.summary AS summary, a.coverImage AS coverImage, "
+            + "a.categoryId AS categoryId, c.name AS categoryName, a.views AS views, a.likes AS likes, "
+            + "a.commentCount AS commentCount, a.isTop AS isTop, a.status AS status, a.publishedAt AS publishedAt, "
+            + "a.createdAt AS createdAt, a.deletedAt AS deletedAt, a.contentPath AS contentPath "
+            + "FROM Article a LEFT JOIN a.category c ";
 
     /**
      * 根据分类ID和状态查询文章（分页，置顶优先）
@@ -31,46 +38,94 @@ public interface ArticleRepository extends JpaRepository<Article, Long>, JpaSpec
     Page<Article> findByCategoryIdAndStatusOrderByIsTopDescCreatedAtDesc(Long categoryId, Integer status, Pageable pageable);
 
     /**
-     * 根据状态查询置顶文章
+     * 根据状态查询文章列表投影（分页，置顶优先）
      */
-    List<Article> findByStatusAndIsTopOrderByCreatedAtDesc(Integer status, Integer isTop);
+    @Query(value = LIST_VIEW_SELECT + "WHERE a.status = :status ORDER BY a.isTop DESC, a.createdAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.status = :status")
+    Page<ArticleListView> findListViewByStatus(@Param("status") Integer status, Pageable pageable);
 
     /**
-     * 根据ID和状态查询文章
+     * 根据分类ID和状态查询文章列表投影（分页，置顶优先）
      */
-    Optional<Article> findByIdAndStatus(Long id, Integer status);
+    @Query(value = LIST_VIEW_SELECT + "WHERE a.categoryId = :categoryId AND a.status = :status ORDER BY a.isTop DESC, a.createdAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.categoryId = :categoryId AND a.status = :status")
+    Page<ArticleListView> findListViewByCategoryIdAndStatus(@Param("categoryId") Long categoryId, @Param("status") Integer status, Pageable pageable);
 
     /**
-     * 搜索文章（标题或摘要）
+     * 游标分页：第一页（置顶优先，按创建时间、ID倒序，不统计总数）
      */
-    @Query("SELECT a FROM Article a WHERE a.status = :status AND (a.title LIKE %:keyword% OR a.summary LIKE %:keyword%) ORDER BY a.createdAt DESC")
-    Page<Article> searchArticles(@Param("keyword") String keyword, @Param("status") Integer status, Pageable pageable);
+    @Query(LIST_VIEW_SELECT + "WHERE a.status = :status AND (:categoryId IS NULL OR a.categoryId = :categoryId) "
+            + "ORDER BY a.isTop DESC, a.createdAt DESC, a.id DESC")
+    List<ArticleListView> findListViewFirstPage(@Param("categoryId") Long categoryId, @Param("status") Integer status,
+                                                Pageable pageable);
 
     /**
-     * 查询热门文章（按浏览量排序）
+     * 游标分页：游标 (isTop, createdAt, id) 之后的一页
      */
-    @Query("SELECT a FROM Article a WHERE a.status = :status ORDER BY a.views DESC, a.createdAt DESC")
-    List<Article> findHotArticles(@Param("status") Integer status, Pageable pageable);
+    @Query(LIST_VIEW_SELECT + "WHERE a.status = :status AND (:categoryId IS NULL OR a.categoryId = :categoryId) "
+            + "AND (a.isTop < :isTop "
+            + "OR (a.isTop = :isTop AND a.createdAt < :createdAt) "
+            + "OR (a.isTop = :isTop AND a.createdAt = :createdAt AND a.id < :id)) "
+            + "ORDER BY a.isTop DESC, a.createdAt DESC, a.id DESC")
+    List<ArticleListView> findListViewAfter(@Param("categoryId") Long categoryId, @Param("status") Integer status,
+                                            @Param("isTop") Integer isTop, @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id, Pageable pageable);
 
     /**
-     * 查询最新文章
+     * 全文检索文章列表投影（自然语言模式，按相关度排序）
      */
-    @Query("SELECT a FROM Article a WHERE a.status = :status ORDER BY a.publishedAt DESC")
-    List<Article> findLatestArticles(@Param("status") Integer status, Pageable pageable);
+    @Query(value = LIST_VIEW_SELECT + "WHERE a.status = :status AND match_natural(a.title, a.summary, :keyword) > 0 "
+            + "ORDER BY match_natural(a.title, a.summary, :keyword) DESC, a.createdAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.status = :status AND match_natural(a.title, a.summary, :keyword) > 0")
+    Page<ArticleListView> fullTextSearchListView(@Param("keyword") String keyword, @Param("status") Integer status, Pageable pageable);
 
     /**
-     * 增加浏览量
+     * 搜索文章列表投影（标题或摘要模糊匹配，仅用于过短的关键词）
      */
-    @Modifying
-    @Query("UPDATE Article a SET a.views = a.views + 1 WHERE a.id = :id")
-    void incrementViews(@Param("id") Long id);
+    @Query(value = LIST_VIEW_SELECT + "WHERE a.status = :status AND (a.title LIKE %:keyword% OR a.summary LIKE %:keyword%) ORDER BY a.createdAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.status = :status AND (a.title LIKE %:keyword% OR a.summary LIKE %:keyword%)")
+    Page<ArticleListView> searchListView(@Param("keyword") String keyword, @Param("status") Integer status, Pageable pageable);
 
     /**
-     * 增加点赞数
+     * 根据ID批量查询文章列表投影（不保证顺序）
      */
-    @Modifying
-    @Query("UPDATE Article a SET a.likes = a.likes + 1 WHERE a.id = :id")
-    void incrementLikes(@Param("id") Long id);
+    @Query(LIST_VIEW_SELECT + "WHERE a.id IN :ids AND a.status = :status")
+    List<ArticleListView> findListViewByIds(@Param("ids") Collection<Long> ids, @Param("status") Integer status);
+
+    /**
+     * 查询置顶文章列表投影
+     */
+    @Query(LIST_VIEW_SELECT + "WHERE a.status = :status AND a.isTop = 1 ORDER BY a.createdAt DESC")
+    List<ArticleListView> findTopListView(@Param("status") Integer status);
+
+    /**
+     * 查询热门文章列表投影（按浏览量排序）
+     */
+    @Query(LIST_VIEW_SELECT + "WHERE a.status = :status ORDER BY a.views DESC, a.createdAt DESC")
+    List<ArticleListView> findHotListView(@Param("status") Integer status, Pageable pageable);
+
+    /**
+     * 查询最新文章列表投影
+     */
+    @Query(LIST_VIEW_SELECT + "WHERE a.status = :status ORDER BY a.publishedAt DESC")
+    List<ArticleListView> findLatestListView(@Param("status") Integer status, Pageable pageable);
+
+    /**
+     * 根据状态查询全部文章（用于重建搜索索引）
+     */
+    List<Article> findByStatus(Integer status);
+
+    /**
+     * 根据ID和状态查询文章
+     */
+    Optional<Article> findByIdAndStatus(Long id, Integer status);
+
+    /**
+     * 查询文章详情的版本信息（按主键，不读取正文，用于条件请求）
+     */
+    @Query("SELECT a.updatedAt AS updatedAt, a.views AS views, a.likes AS likes, a.commentCount AS commentCount, "
+            + "a.isTop AS isTop, c.updatedAt AS categoryUpdatedAt FROM Article a LEFT JOIN a.category c WHERE a.id = :id AND a.status = :status")
+    Optional<ArticleVersionView> findVersionByIdAndStatus(@Param("id") Long id, @Param("status") Integer status);
 
     /**
      * 更新评论数
@@ -99,7 +154,7 @@ public interface ArticleRepository extends JpaRepository<Article, Long>, JpaSpec
      * 获取浏览量最高的文章（用于排行榜）
      */
     @Query("SELECT a.title, a.views FROM Article a WHERE a.status = 1 ORDER BY a.views DESC")
-    List<Object[]> findTopArticlesByViews(int limit);
+    List<Object[]> findTopArticlesByViews(Pageable pageable);
 
     /**
      * 查找已删除且超过指定时间的文章（用于定时清理）
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -62,6 +63,65 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
      */
     Page<Comment> findByStatusOrderByCreatedAtDesc(Integer status, Pageable pageable);
 
+    /**
+     * 游标分页：第一页（管理用，可选按文章和状态筛选，按创建时间、ID倒序，不统计总数）
+     */
+    @Query("SELECT c FROM Comment c WHERE (:articleId IS NULL OR c.articleId = :articleId) "
+            + "AND (:status IS NULL OR c.status = :status) "
+            + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findForAdminFirstPage(@Param("articleId") Long articleId, @Param("status") Integer status,
+                                        Pageable pageable);
+
+    /**
+     * 游标分页：游标 (createdAt, id) 之后的一页（管理用）
+     */
+    @Query("SELECT c FROM Comment c WHERE (:articleId IS NULL OR c.articleId = :articleId) "
+            + "AND (:status IS NULL OR c.status = :status) "
+            + "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) "
+            + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findForAdminAfter(@Param("articleId") Long articleId, @Param("status") Integer status,
+                                    @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                    Pageable pageable);
+
+    /**
+     * 评论线程游标分页：第一页（同一父评论下的评论，parentId 为空时为顶级评论；按创建时间、ID正序）
+     */
+    @Query("SELECT c FROM Comment c WHERE c.articleId = :articleId AND c.status = :status "
+            + "AND ((:parentId IS NULL AND c.parentId IS NULL) OR c.parentId = :parentId) "
+            + "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findThreadFirstPage(@Param("articleId") Long articleId, @Param("status") Integer status,
+                                      @Param("parentId") Long parentId, Pageable pageable);
+
+    /**
+     * 评论线程游标分页：游标 (createdAt, id) 之后的一页
+     */
+    @Query("SELECT c FROM Comment c WHERE c.articleId = :articleId AND c.status = :status "
+            + "AND ((:parentId IS NULL AND c.parentId IS NULL) OR c.parentId = :parentId) "
+            + "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) "
+            + "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findThreadAfter(@Param("articleId") Long articleId, @Param("status") Integer status,
+                                  @Param("parentId") Long parentId, @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id, Pageable pageable);
+
+    /**
+     * 批量统计直接回复数，返回 [parentId, count]
+     */
+    @Query("SELECT c.parentId, COUNT(c) FROM Comment c WHERE c.articleId = :articleId AND c.status = :status "
+            + "AND c.parentId IN :parentIds GROUP BY c.parentId")
+    List<Object[]> countReplies(@Param("articleId") Long articleId, @Param("status") Integer status,
+                                @Param("parentIds") Collection<Long> parentIds);
+
+    /**
+     * 批量查询每条父评论最早的若干条直接回复（窗口函数按父评论分组编号，只回表需要的行）
+     */
+    @Query(value = "SELECT c.* FROM tb_comments c JOIN ("
+            + "SELECT id, ROW_NUMBER() OVER (PARTITION BY parent_id ORDER BY created_at, id) AS rn "
+            + "FROM tb_comments WHERE article_id = :articleId AND status = :status AND parent_id IN (:parentIds)"
+            + ") r ON r.id = c.id WHERE r.rn <= :limit ORDER BY c.parent_id, c.created_at, c.id",
+            nativeQuery = true)
+    List<Comment> findFirstReplies(@Param("articleId") Long articleId, @Param("status") Integer status,
+                                   @Param("parentIds") Collection<Long> parentIds, @Param("limit") int limit);
+
     /**
      * 统计文章的评论数（不含已删除）
      */
@@ -4,6 +4,8 @@ import com.blog.model.entity.Message;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -20,6 +22,20 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
      */
     Page<Message> findByStatusOrderByCreatedAtDesc(Integer status, Pageable pageable);
 
+    /**
+     * 游标分页：第一页（按创建时间、ID倒序，不统计总数）
+     */
+    List<Message> findByStatusOrderByCreatedAtDescIdDesc(Integer status, Pageable pageable);
+
+    /**
+     * 游标分页：游标 (createdAt, id) 之后的一页
+     */
+    @Query("SELECT m FROM Message m WHERE m.status = :status "
+            + "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) "
+            + "ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findByStatusAfter(@Param("status") Integer status, @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id, Pageable pageable);
+
     /**
      * 查询所有留言（管理用，分页）
      */
@@ -32,6 +32,12 @@ public interface StatisticsRepository extends JpaRepository<Statistics, Long> {
     @Query("SELECT s FROM Statistics s WHERE s.statDate BETWEEN :startDate AND :endDate ORDER BY s.statDate ASC")
     List<Statistics> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
+    /**
+     * 汇总截至指定日期（含）的访问量
+     */
+    @Query("SELECT COALESCE(SUM(s.dailyVisits), 0) FROM Statistics s WHERE s.statDate <= :date")
+    long sumDailyVisitsUntil(@Param("date") LocalDate date);
+
     /**
      * 查询最近N天的统计
      */
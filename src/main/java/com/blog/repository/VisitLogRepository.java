@@ -9,8 +9,6 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * 访问记录Repository接口
@@ -24,46 +22,15 @@ public interface VisitLogRepository extends JpaRepository<VisitLog, Long> {
     Page<VisitLog> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
     /**
-     * 检查访客今天是否已访问特定文章
+     * 统计指定访问日期的访问量（按 visit_date 过滤，可裁剪到单个分区，用于每日对账）
      */
-    boolean existsByVisitorIdAndArticleIdAndVisitDate(String visitorId, Long articleId, LocalDate visitDate);
+    long countByVisitDate(LocalDate visitDate);
 
     /**
-     * 检查访客今天是否已访问首页
+     * 统计指定访问日期的独立访客数（按 visit_date 过滤，可裁剪到单个分区）
      */
-    boolean existsByVisitorIdAndArticleIdIsNullAndVisitDate(String visitorId, LocalDate visitDate);
-
-    /**
-     * 检查访客今天是否已访问
-     */
-    @Query("SELECT COUNT(v) > 0 FROM VisitLog v WHERE v.visitorId = :visitorId AND v.createdAt >= :startOfDay AND v.createdAt < :endOfDay")
-    boolean existsByVisitorIdAndToday(@Param("visitorId") String visitorId,
-                                       @Param("startOfDay") LocalDateTime startOfDay,
-                                       @Param("endOfDay") LocalDateTime endOfDay);
-
-    /**
-     * 统计指定日期的访问量
-     */
-    @Query("SELECT COUNT(v) FROM VisitLog v WHERE v.createdAt >= :startOfDay AND v.createdAt < :endOfDay")
-    long countByDate(@Param("startOfDay") LocalDateTime startOfDay, @Param("endOfDay") LocalDateTime endOfDay);
-
-    /**
-     * 统计指定日期的独立访客数
-     */
-    @Query("SELECT COUNT(DISTINCT v.visitorId) FROM VisitLog v WHERE v.createdAt >= :startOfDay AND v.createdAt < :endOfDay")
-    long countUniqueVisitorsByDate(@Param("startOfDay") LocalDateTime startOfDay, @Param("endOfDay") LocalDateTime endOfDay);
-
-    /**
-     * 统计总访问量
-     */
-    @Query("SELECT COUNT(v) FROM VisitLog v")
-    long countTotalVisits();
-
-    /**
-     * 按日期分组统计访问量
-     */
-    @Query("SELECT v.visitDate, COUNT(v) FROM VisitLog v WHERE v.visitDate BETWEEN :startDate AND :endDate GROUP BY v.visitDate ORDER BY v.visitDate ASC")
-    List<Object[]> countByDateGrouped(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    @Query("SELECT COUNT(DISTINCT v.visitorId) FROM VisitLog v WHERE v.visitDate = :visitDate")
+    long countUniqueVisitorsByVisitDate(@Param("visitDate") LocalDate visitDate);
 
     /**
      * 统计总独立访客数
@@ -6,6 +6,7 @@ import com.blog.repository.ArticleRepository;
 import com.blog.service.ArticleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -26,6 +27,7 @@ public class ArticleCleanupTask {
 
     private static final int RETENTION_DAYS = 30;
 
+    @Async("maintenanceExecutor")
     @Scheduled(cron = "0 0 3 * * ?")
     public void cleanupDeletedArticles() {
         LocalDateTime threshold = LocalDateTime.now().minusDays(RETENTION_DAYS);
@@ -6,6 +6,7 @@ import com.blog.repository.CommentRepository;
 import com.blog.service.CommentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -26,6 +27,7 @@ public class CommentCleanupTask {
 
     private static final int RETENTION_DAYS = 30;
 
+    @Async("maintenanceExecutor")
     @Scheduled(cron = "0 5 3 * * ?")
     public void cleanupDeletedComments() {
         LocalDateTime threshold = LocalDateTime.now().minusDays(RETENTION_DAYS);
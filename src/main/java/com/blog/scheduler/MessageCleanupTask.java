@@ -6,6 +6,7 @@ import com.blog.repository.MessageRepository;
 import com.blog.service.MessageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -26,6 +27,7 @@ public class MessageCleanupTask {
 
     private static final int RETENTION_DAYS = 30;
 
+    @Async("maintenanceExecutor")
     @Scheduled(cron = "0 10 3 * * ?")
     public void cleanupDeletedMessages() {
         LocalDateTime threshold = LocalDateTime.now().minusDays(RETENTION_DAYS);
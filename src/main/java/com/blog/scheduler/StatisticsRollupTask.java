@@ -0,0 +1,30 @@
+package com.blog.scheduler;
+
+import com.blog.service.StatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 每日统计对账任务
+ * 每天凌晨0点10分用前一天的访问记录校正按天汇总的访问量，并记录独立访客数
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatisticsRollupTask {
+
+    private final StatisticsService statisticsService;
+
+    @Async("maintenanceExecutor")
+    @Scheduled(cron = "0 10 0 * * ?")
+    public void reconcileDailyStatistics() {
+        try {
+            statisticsService.recordDailyStatistics();
+        } catch (Exception e) {
+            log.error("每日统计对账失败", e);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.blog.scheduler;
+
+import com.blog.config.properties.BlogProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 访问记录分区维护任务
+ * tb_visit_logs 按 visit_date 按月分区（V8）。每天凌晨3点30分：
+ * 1. 从兜底分区 p_future 中拆出未来几个月的分区（启动时也执行一次）；
+ * 2. 超过保留期的月分区先导出为 {data.path}/archive/visit_logs/*.csv.gz，再整体删除分区。
+ * 统计数据已汇总到 tb_statistics，删除原始记录不影响仪表板和趋势。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VisitLogPartitionTask {
+
+    private static final String TABLE = "tb_visit_logs";
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final String MAXVALUE = "MAXVALUE";
+    private static final int ARCHIVE_CHUNK_SIZE = 5000;
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlogProperties blogProperties;
+
+    @Async("maintenanceExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rollForward();
+        } catch (Exception e) {
+            log.error("创建访问记录分区失败", e);
+        }
+    }
+
+    @Async("maintenanceExecutor")
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void maintainPartitions() {
+        try {
+            rollForward();
+            archiveExpired();
+        } catch (Exception e) {
+            log.error("访问记录分区维护失败", e);
+        }
+    }
+
+    /**
+     * 保证当前月及之后 futureMonths 个月都有独立分区
+     */
+    public synchronized void rollForward() {
+        List<Partition> partitions = loadPartitions();
+        if (partitions.isEmpty()) {
+            log.warn("{}未分区，跳过分区维护", TABLE);
+            return;
+        }
+
+        LocalDate lastBound = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(bound -> bound != null)
+                .max(LocalDate::compareTo)
+                .orElse(null);
+        LocalDate target = LocalDate.now().withDayOfMonth(1)
+                .plusMonths(blogProperties.getVisitLog().getFutureMonths() + 1L);
+        if (lastBound == null || !lastBound.isBefore(target)) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder("ALTER TABLE ").append(TABLE)
+                .append(" REORGANIZE PARTITION ").append(FUTURE_PARTITION).append(" INTO (");
+        List<String> created = new ArrayList<>();
+        for (LocalDate month = lastBound; month.isBefore(target); month = month.plusMonths(1)) {
+            String name = month.format(PARTITION_NAME_FORMAT);
+            sql.append("PARTITION ").append(name)
+                    .append(" VALUES LESS THAN ('").append(month.plusMonths(1)).append("'), ");
+            created.add(name);
+        }
+        sql.append("PARTITION ").append(FUTURE_PARTITION).append(" VALUES LESS THAN (MAXVALUE))");
+
+        jdbcTemplate.execute(sql.toString());
+        log.info("已创建访问记录分区: {}", created);
+    }
+
+    /**
+     * 归档并删除超过保留期的分区
+     */
+    public synchronized void archiveExpired() {
+        LocalDate cutoff = LocalDate.now().withDayOfMonth(1)
+                .minusMonths(blogProperties.getVisitLog().getRetentionMonths());
+        for (Partition partition : loadPartitions()) {
+            LocalDate bound = partition.upperBound();
+            if (bound == null || bound.isAfter(cutoff)) {
+                continue;
+            }
+            try {
+                long rows = archive(partition.name());
+                // 导出成功后才删除分区
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition.name());
+                log.info("访问记录分区已归档并删除: {}，{}条", partition.name(), rows);
+            } catch (Exception e) {
+                log.error("归档访问记录分区失败: {}", partition.name(), e);
+                return;
+            }
+        }
+    }
+
+    private List<Partition> loadPartitions() {
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL "
+                        + "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> new Partition(rs.getString(1), rs.getString(2)),
+                TABLE);
+    }
+
+    /**
+     * 按主键分块导出分区数据为 gzip 压缩的 CSV（先写临时文件再原子替换）
+     */
+    private long archive(String partitionName) throws IOException {
+        Path dir = Paths.get(blogProperties.getData().getPath(), "archive", "visit_logs");
+        Files.createDirectories(dir);
+        Path file = dir.resolve(TABLE + "_" + partitionName + ".csv.gz");
+        Path temp = dir.resolve(file.getFileName() + ".tmp");
+
+        String sql = "SELECT id, visitor_id, article_id, ip_address, user_agent, referer, page_url, visit_date, created_at "
+                + "FROM " + TABLE + " PARTITION (" + partitionName + ") WHERE id > ? ORDER BY id LIMIT " + ARCHIVE_CHUNK_SIZE;
+        long rows = 0;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+            writer.write("id,visitor_id,article_id,ip_address,user_agent,referer,page_url,visit_date,created_at\n");
+            long lastId = 0;
+            while (true) {
+                List<String[]> chunk = jdbcTemplate.query(sql, (rs, rowNum) -> {
+                    String[] row = new String[9];
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] = rs.getString(i + 1);
+                    }
+                    return row;
+                }, lastId);
+                for (String[] row : chunk) {
+                    writer.write(toCsvLine(row));
+                }
+                rows += chunk.size();
+                if (chunk.size() < ARCHIVE_CHUNK_SIZE) {
+                    break;
+                }
+                lastId = Long.parseLong(chunk.get(chunk.size() - 1)[0]);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rows;
+    }
+
+    private static String toCsvLine(String[] row) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            String value = row[i];
+            if (value == null) {
+                continue;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                line.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(value);
+            }
+        }
+        return line.append('\n').toString();
+    }
+
+    /**
+     * 分区信息；description 为 RANGE COLUMNS 的上界（如 '2025-12-01'）或 MAXVALUE
+     */
+    private record Partition(String name, String description) {
+
+        /**
+         * 分区上界（不含）；兜底分区返回null
+         */
+        LocalDate upperBound() {
+            if (description == null || MAXVALUE.equalsIgnoreCase(description)) {
+                return null;
+            }
+            return LocalDate.parse(description.replace("'", ""));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.blog.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 中日韩感知的分词器
+ * 其他字母数字按单词切分并转为小写；连续的中日韩字符：
+ * - 索引时切分为单字和二元组，单字查询（如"猫"）也能命中；
+ * - 查询时只切分为二元组（单个字符时为单字），多字查询按相邻字匹配，不被单字命中稀释。
+ */
+public class CjkBigramTokenizer {
+
+    /**
+     * 单词最大长度（超长的串多为链接或编码内容，截断后仍可前缀匹配）
+     */
+    private static final int MAX_WORD_LENGTH = 32;
+
+    /**
+     * 索引分词（中日韩字符输出单字和二元组）
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * 查询分词（中日韩字符只输出二元组，单个字符时为单字）
+     */
+    public static List<String> tokenizeQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<String> tokenize(String text, boolean unigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        StringBuilder word = new StringBuilder();
+        int cjkStart = -1;
+        int i = 0;
+        while (i < text.length()) {
+            int cp = text.codePointAt(i);
+            if (isCjk(cp)) {
+                flushWord(word, tokens);
+                if (cjkStart < 0) {
+                    cjkStart = i;
+                }
+            } else {
+                flushCjk(text, cjkStart, i, unigrams, tokens);
+                cjkStart = -1;
+                if (Character.isLetterOrDigit(cp)) {
+                    word.appendCodePoint(Character.toLowerCase(cp));
+                } else {
+                    flushWord(word, tokens);
+                }
+            }
+            i += Character.charCount(cp);
+        }
+        flushCjk(text, cjkStart, text.length(), unigrams, tokens);
+        flushWord(word, tokens);
+        return tokens;
+    }
+
+    /**
+     * 是否为中日韩字符
+     */
+    public static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.length() > MAX_WORD_LENGTH ? word.substring(0, MAX_WORD_LENGTH) : word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static void flushCjk(String text, int start, int end, boolean unigrams, List<String> tokens) {
+        if (start < 0) {
+            return;
+        }
+        int[] codePoints = text.substring(start, end).codePoints().toArray();
+        if (codePoints.length == 1) {
+            tokens.add(new String(codePoints, 0, 1));
+            return;
+        }
+        for (int j = 0; j < codePoints.length; j++) {
+            if (unigrams) {
+                tokens.add(new String(codePoints, j, 1));
+            }
+            if (j + 1 < codePoints.length) {
+                tokens.add(new String(codePoints, j, 2));
+            }
+        }
+    }
+}
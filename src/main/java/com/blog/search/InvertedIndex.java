@@ -0,0 +1,310 @@
+package com.blog.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 内存倒排索引（BM25排序）
+ * 标题、摘要、正文按权重合并为一个字段计算词频；倒排表以varint压缩存储，可整体持久化到文件。
+ * 同时保存正文纯文本（空白已合并），用于生成搜索结果摘要，无需重新读取和解析Markdown。
+ * 读写通过读写锁保护，查询之间互不阻塞。
+ */
+public class InvertedIndex {
+
+    private static final int MAGIC = 0x424C5349;
+    /**
+     * 2：中日韩单字入索引，保存正文纯文本
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SUMMARY_WEIGHT = 2;
+    private static final int BODY_WEIGHT = 1;
+
+    private final Map<String, byte[]> postings = new HashMap<>();
+    private final Map<Integer, DocEntry> docs = new HashMap<>();
+    private long totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 分析文档（纯计算，可并行执行）
+     */
+    public static Document analyze(int docId, String stamp, String title, String summary, String body) {
+        Map<String, Integer> freqs = new HashMap<>();
+        int length = count(freqs, title, TITLE_WEIGHT)
+                + count(freqs, summary, SUMMARY_WEIGHT)
+                + count(freqs, body, BODY_WEIGHT);
+        String text = body == null ? "" : body.replaceAll("\\s+", " ").trim();
+        return new Document(docId, stamp, length, freqs, text);
+    }
+
+    private static int count(Map<String, Integer> freqs, String text, int weight) {
+        List<String> tokens = CjkBigramTokenizer.tokenize(text);
+        for (String token : tokens) {
+            freqs.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    /**
+     * 添加或替换文档
+     */
+    public void put(Document document) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.docId());
+            for (Map.Entry<String, Integer> entry : document.freqs().entrySet()) {
+                byte[] current = postings.getOrDefault(entry.getKey(), PostingsCodec.EMPTY);
+                postings.put(entry.getKey(), PostingsCodec.decode(current).put(document.docId(), entry.getValue()));
+            }
+            docs.put(document.docId(), new DocEntry(document.stamp(), document.length(), document.text(),
+                    document.freqs().keySet()));
+            totalLength += document.length();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 移除文档
+     */
+    public void remove(int docId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeInternal(int docId) {
+        DocEntry entry = docs.remove(docId);
+        if (entry == null) {
+            return;
+        }
+        totalLength -= entry.length();
+        for (String term : entry.terms()) {
+            byte[] current = postings.get(term);
+            if (current == null) {
+                continue;
+            }
+            byte[] updated = PostingsCodec.decode(current).remove(docId);
+            if (updated.length == 0) {
+                postings.remove(term);
+            } else {
+                postings.put(term, updated);
+            }
+        }
+    }
+
+    /**
+     * 文档的版本标记（不存在时返回null）
+     */
+    public String stamp(int docId) {
+        lock.readLock().lock();
+        try {
+            DocEntry entry = docs.get(docId);
+            return entry == null ? null : entry.stamp();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 文档正文纯文本（不存在时返回空串）
+     */
+    public String text(int docId) {
+        lock.readLock().lock();
+        try {
+            DocEntry entry = docs.get(docId);
+            return entry == null ? "" : entry.text();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 已索引的文档ID
+     */
+    public Set<Integer> docIds() {
+        lock.readLock().lock();
+        try {
+            return Set.copyOf(docs.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * BM25检索，返回按得分倒序排列的全部命中
+     */
+    public List<Hit> search(String query) {
+        Set<String> terms = new LinkedHashSet<>(CjkBigramTokenizer.tokenizeQuery(query));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int docCount = docs.size();
+            if (docCount == 0) {
+                return List.of();
+            }
+            double avgLength = Math.max(1.0, (double) totalLength / docCount);
+
+            for (String term : terms) {
+                byte[] data = postings.get(term);
+                if (data == null) {
+                    continue;
+                }
+                PostingsCodec.Postings list = PostingsCodec.decode(data);
+                int df = list.size();
+                double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+                for (int i = 0; i < df; i++) {
+                    int docId = list.docId(i);
+                    double tf = list.freq(i);
+                    double norm = K1 * (1 - B + B * docs.get(docId).length() / avgLength);
+                    scores.merge(docId, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(scores.size());
+        scores.forEach((docId, score) -> hits.add(new Hit(docId, score)));
+        hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return hits;
+    }
+
+    /**
+     * 持久化到文件（先写同目录下唯一命名的临时文件再原子替换，并发写入互不干扰）
+     */
+    public void writeTo(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            write(temp);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void write(Path temp) throws IOException {
+        lock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(docs.size());
+            for (Map.Entry<Integer, DocEntry> entry : docs.entrySet()) {
+                out.writeInt(entry.getKey());
+                out.writeUTF(entry.getValue().stamp());
+                out.writeInt(entry.getValue().length());
+                writeString(out, entry.getValue().text());
+            }
+            out.writeInt(postings.size());
+            for (Map.Entry<String, byte[]> entry : postings.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 从文件加载（文档的词项列表由倒排表反推）
+     */
+    public static InvertedIndex readFrom(Path file) throws IOException {
+        InvertedIndex index = new InvertedIndex();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("索引文件格式不匹配: " + file);
+            }
+            Map<Integer, String> stamps = new HashMap<>();
+            Map<Integer, Integer> lengths = new HashMap<>();
+            Map<Integer, String> texts = new HashMap<>();
+            int docCount = in.readInt();
+            for (int i = 0; i < docCount; i++) {
+                int docId = in.readInt();
+                stamps.put(docId, in.readUTF());
+                lengths.put(docId, in.readInt());
+                texts.put(docId, readString(in));
+            }
+
+            Map<Integer, Set<String>> docTerms = new HashMap<>();
+            int termCount = in.readInt();
+            for (int i = 0; i < termCount; i++) {
+                String term = in.readUTF();
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                index.postings.put(term, data);
+                PostingsCodec.Postings list = PostingsCodec.decode(data);
+                for (int j = 0; j < list.size(); j++) {
+                    docTerms.computeIfAbsent(list.docId(j), k -> new LinkedHashSet<>()).add(term);
+                }
+            }
+
+            for (Map.Entry<Integer, String> entry : stamps.entrySet()) {
+                int length = lengths.get(entry.getKey());
+                Set<String> terms = docTerms.getOrDefault(entry.getKey(), Set.of());
+                index.docs.put(entry.getKey(), new DocEntry(entry.getValue(), length, texts.get(entry.getKey()), terms));
+                index.totalLength += length;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * 长文本按 长度+UTF-8字节 写入（writeUTF 限制64KB）
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 待索引文档（analyze的结果）
+     */
+    public record Document(int docId, String stamp, int length, Map<String, Integer> freqs, String text) {
+    }
+
+    /**
+     * 检索命中
+     */
+    public record Hit(int docId, double score) {
+    }
+
+    private record DocEntry(String stamp, int length, String text, Collection<String> terms) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.blog.search;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * 倒排表编码
+ * 倒排表按文档ID升序存储 (文档ID差值, 词频) 对，均使用变长整数（varint）编码
+ */
+public class PostingsCodec {
+
+    public static final byte[] EMPTY = new byte[0];
+
+    /**
+     * 编码倒排表（docIds 必须升序）
+     */
+    public static byte[] encode(int[] docIds, int[] freqs, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length * 2);
+        int previous = 0;
+        for (int i = 0; i < length; i++) {
+            writeVarInt(out, docIds[i] - previous);
+            writeVarInt(out, freqs[i]);
+            previous = docIds[i];
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 解码倒排表
+     */
+    public static Postings decode(byte[] data) {
+        Postings postings = new Postings(Math.max(4, data.length / 2));
+        int[] position = {0};
+        int docId = 0;
+        while (position[0] < data.length) {
+            docId += readVarInt(data, position);
+            postings.add(docId, readVarInt(data, position));
+        }
+        return postings;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] data, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[position[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * 解码后的倒排表（原始int数组，避免装箱）
+     */
+    public static class Postings {
+        private int[] docIds;
+        private int[] freqs;
+        private int size;
+
+        Postings(int capacity) {
+            docIds = new int[capacity];
+            freqs = new int[capacity];
+        }
+
+        void add(int docId, int freq) {
+            if (size == docIds.length) {
+                int capacity = size * 2;
+                docIds = Arrays.copyOf(docIds, capacity);
+                freqs = Arrays.copyOf(freqs, capacity);
+            }
+            docIds[size] = docId;
+            freqs[size] = freq;
+            size++;
+        }
+
+        /**
+         * 插入或替换文档的词频（保持升序），返回新的编码结果
+         */
+        byte[] put(int docId, int freq) {
+            int index = Arrays.binarySearch(docIds, 0, size, docId);
+            if (index >= 0) {
+                freqs[index] = freq;
+                return encode(docIds, freqs, size);
+            }
+            add(0, 0);
+            int insertAt = -index - 1;
+            System.arraycopy(docIds, insertAt, docIds, insertAt + 1, size - 1 - insertAt);
+            System.arraycopy(freqs, insertAt, freqs, insertAt + 1, size - 1 - insertAt);
+            docIds[insertAt] = docId;
+            freqs[insertAt] = freq;
+            return encode(docIds, freqs, size);
+        }
+
+        /**
+         * 移除文档，返回新的编码结果
+         */
+        byte[] remove(int docId) {
+            int index = Arrays.binarySearch(docIds, 0, size, docId);
+            if (index < 0) {
+                return encode(docIds, freqs, size);
+            }
+            System.arraycopy(docIds, index + 1, docIds, index, size - index - 1);
+            System.arraycopy(freqs, index + 1, freqs, index, size - index - 1);
+            size--;
+            return encode(docIds, freqs, size);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int docId(int index) {
+            return docIds[index];
+        }
+
+        public int freq(int index) {
+            return freqs[index];
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.blog.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * 管理员认证信息
+ * 在 Spring Security 的 User 基础上携带账户状态和密码版本，用于签发和校验 Token
+ */
+@Getter
+public class AdminUserDetails extends User {
+
+    /**
+     * 账户状态（1正常，0禁用）
+     */
+    private final Integer status;
+
+    /**
+     * 密码版本（密码哈希的摘要，修改密码后变化，使旧Token失效）
+     */
+    private final String passwordVersion;
+
+    public AdminUserDetails(String username, String password, Integer status, String passwordVersion,
+                            Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, status == 1, true, true, status == 1, authorities);
+        this.status = status;
+        this.passwordVersion = passwordVersion;
+    }
+}
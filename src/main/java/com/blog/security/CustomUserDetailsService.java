@@ -1,46 +1,81 @@
 package com.blog.security;
 
+import com.blog.config.properties.BlogProperties;
 import com.blog.model.entity.Admin;
 import com.blog.repository.AdminRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * 用户详情服务实现
+ * 管理员信息在本地缓存较短时间（blog.jwt.user-cache-ttl），携带Token的请求命中缓存时不查询数据库；
+ * 修改密码、禁用账户后调用 evict 立即失效。缓存的是不可变快照，每次返回新的 UserDetails，
+ * 避免认证完成后擦除凭证影响缓存内容。
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES =
+            Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN"));
+
     private final AdminRepository adminRepository;
+    private final Cache<String, AdminSnapshot> cache;
+
+    public CustomUserDetailsService(AdminRepository adminRepository, BlogProperties blogProperties) {
+        this.adminRepository = adminRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(blogProperties.getJwt().getUserCacheTtl())
+                .maximumSize(100)
+                .build();
+    }
 
     @Override
-    @Transactional(readOnly = true)
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Admin admin = adminRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + username));
+    public AdminUserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        AdminSnapshot snapshot = cache.getIfPresent(username);
+        if (snapshot == null) {
+            Admin admin = adminRepository.findByUsername(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + username));
+            snapshot = new AdminSnapshot(admin.getUsername(), admin.getPassword(), admin.getStatus(),
+                    passwordVersion(admin.getPassword()));
+            cache.put(username, snapshot);
+        }
 
         // 检查账户状态
-        if (admin.getStatus() == 0) {
+        if (snapshot.status() == 0) {
             throw new UsernameNotFoundException("账户已被禁用: " + username);
         }
 
-        return User.builder()
-                .username(admin.getUsername())
-                .password(admin.getPassword())
-                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")))
-                .accountExpired(false)
-                .accountLocked(admin.getStatus() == 0)
-                .credentialsExpired(false)
-                .disabled(admin.getStatus() == 0)
-                .build();
+        return new AdminUserDetails(snapshot.username(), snapshot.password(), snapshot.status(),
+                snapshot.passwordVersion(), ADMIN_AUTHORITIES);
+    }
+
+    /**
+     * 失效缓存的管理员信息（修改密码、禁用账户后调用）
+     */
+    public void evict(String username) {
+        cache.invalidate(username);
+        log.debug("已失效管理员认证缓存: {}", username);
+    }
+
+    /**
+     * 密码版本：密码哈希的摘要（不暴露哈希本身）
+     */
+    static String passwordVersion(String passwordHash) {
+        return DigestUtils.md5DigestAsHex(passwordHash.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+    }
+
+    private record AdminSnapshot(String username, String password, Integer status, String passwordVersion) {
     }
 }
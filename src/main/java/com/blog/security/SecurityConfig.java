@@ -85,6 +85,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/articles/*/like").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/categories/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/comments/article/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/comments/*/replies").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/comments").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/messages/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/messages").permitAll()
@@ -97,6 +98,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/config/link").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/widgets").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/stats").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/bootstrap").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/theme/**").permitAll()
 
                         // 静态文件访问 (封面图片、头像等)
@@ -1,5 +1,8 @@
 package com.blog.security.jwt;
 
+import com.blog.security.AdminUserDetails;
+import com.blog.security.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,19 +10,22 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * JWT认证过滤器
- * 从请求中提取JWT Token并验证
+ * 从请求中提取JWT Token并验证；管理员信息来自本地缓存，命中时认证过程不访问数据库。
+ * 只接受访问令牌，并检查吊销名单。
  */
 @Slf4j
 @Component
@@ -27,7 +33,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenDenyList tokenDenyList;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -36,15 +43,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (StringUtils.hasText(jwt)) {
+                // 每个Token只解析一次，角色、状态、密码版本都从声明中读取
+                Claims claims = jwtTokenProvider.parseToken(jwt);
+                if (claims != null && JwtTokenProvider.isAccessToken(claims) && isActive(claims) && !isRevoked(claims)) {
+                    authenticate(claims, request);
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -53,6 +57,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 与缓存的管理员信息比对密码版本（命中缓存时不查询数据库），通过后以Token中的角色建立认证
+     */
+    private void authenticate(Claims claims, HttpServletRequest request) {
+        AdminUserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        String passwordVersion = claims.get(JwtTokenProvider.CLAIM_PASSWORD_VERSION, String.class);
+        if (!userDetails.getPasswordVersion().equals(passwordVersion)) {
+            log.debug("Token签发后密码已修改: {}", claims.getSubject());
+            return;
+        }
+
+        List<?> roles = claims.get(JwtTokenProvider.CLAIM_ROLES, List.class);
+        List<GrantedAuthority> authorities = roles == null ? Collections.emptyList() : roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role)))
+                .toList();
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    /**
+     * 令牌本身或其所属登录会话已被吊销（布隆过滤器判定不存在时不访问Redis）
+     */
+    private boolean isRevoked(Claims claims) {
+        return tokenDenyList.isRevoked(claims.getId(), claims.get(JwtTokenProvider.CLAIM_FAMILY, String.class));
+    }
+
+    private static boolean isActive(Claims claims) {
+        Integer status = claims.get(JwtTokenProvider.CLAIM_STATUS, Integer.class);
+        return status != null && status == 1;
+    }
+
     /**
      * 从请求头中获取JWT Token
      */
@@ -1,75 +1,132 @@
 package com.blog.security.jwt;
 
 import com.blog.config.properties.BlogProperties;
+import com.blog.security.AdminUserDetails;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * JWT Token提供者
- * 负责生成、解析、验证JWT Token
+ * 负责生成、解析、验证JWT Token。签名密钥和解析器在启动时创建一次并复用（均为线程安全）。
+ * 访问令牌中携带角色、账户状态和密码版本，请求认证时只需解析一次即可得到全部信息；
+ * 每个令牌有唯一ID（jti），并记录所属令牌族（fid，一次登录产生一个族，刷新时沿用），用于吊销。
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_STATUS = "status";
+    public static final String CLAIM_PASSWORD_VERSION = "pwv";
+    public static final String CLAIM_TYPE = "typ";
+    public static final String CLAIM_FAMILY = "fid";
+
+    private static final String TYPE_ACCESS = "access";
+    private static final String TYPE_REFRESH = "refresh";
+
     private final BlogProperties blogProperties;
 
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        byte[] keyBytes = blogProperties.getJwt().getSecret().getBytes(StandardCharsets.UTF_8);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     /**
-     * 生成JWT Token
+     * 生成访问令牌
      */
-    public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateTokenFromUsername(userDetails.getUsername());
+    public String generateAccessToken(AdminUserDetails userDetails, String familyId) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + blogProperties.getJwt().getExpiration());
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        return Jwts.builder()
+                .id(newTokenId())
+                .subject(userDetails.getUsername())
+                .claim(CLAIM_TYPE, TYPE_ACCESS)
+                .claim(CLAIM_FAMILY, familyId)
+                .claim(CLAIM_ROLES, roles)
+                .claim(CLAIM_STATUS, userDetails.getStatus())
+                .claim(CLAIM_PASSWORD_VERSION, userDetails.getPasswordVersion())
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey, Jwts.SIG.HS512)
+                .compact();
     }
 
     /**
-     * 从用户名生成Token
+     * 生成刷新令牌（只携带用户名、令牌族、令牌ID和密码版本）
      */
-    public String generateTokenFromUsername(String username) {
+    public String generateRefreshToken(AdminUserDetails userDetails, String familyId, String tokenId) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + blogProperties.getJwt().getExpiration());
+        Date expiryDate = new Date(now.getTime() + blogProperties.getJwt().getRefreshExpiration());
 
         return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .id(tokenId)
+                .subject(userDetails.getUsername())
+                .claim(CLAIM_TYPE, TYPE_REFRESH)
+                .claim(CLAIM_FAMILY, familyId)
+                .claim(CLAIM_PASSWORD_VERSION, userDetails.getPasswordVersion())
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey, Jwts.SIG.HS512)
                 .compact();
     }
 
+    public static String newTokenId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
     /**
-     * 从Token中获取用户名
+     * Token剩余有效期（已过期返回0）
      */
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
+    public static Duration remainingLifetime(Claims claims) {
+        Duration remaining = Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
     }
 
     /**
-     * 验证Token是否有效
+     * 是否为访问令牌（刷新令牌不能用于访问接口）
      */
-    public boolean validateToken(String token) {
+    public static boolean isAccessToken(Claims claims) {
+        return TYPE_ACCESS.equals(claims.get(CLAIM_TYPE, String.class)) && claims.getId() != null;
+    }
+
+    /**
+     * 是否为刷新令牌
+     */
+    public static boolean isRefreshToken(Claims claims) {
+        return TYPE_REFRESH.equals(claims.get(CLAIM_TYPE, String.class)) && claims.getId() != null;
+    }
+
+    /**
+     * 解析并验证Token，返回其中的声明；Token无效时返回null
+     */
+    public Claims parseToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -78,18 +135,11 @@ public class JwtTokenProvider {
             log.error("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
             log.error("Unsupported JWT token");
+        } catch (JwtException ex) {
+            log.error("Invalid JWT token: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
-    }
-
-    /**
-     * 获取签名密钥
-     */
-    private SecretKey getSigningKey() {
-        String secret = blogProperties.getJwt().getSecret();
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return null;
     }
 }
@@ -0,0 +1,57 @@
+package com.blog.security.jwt;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * 刷新令牌轮换记录
+ * 每次登录产生一个令牌族（familyId），Redis 中只记录该族当前有效的刷新令牌ID（jwt:refresh:{familyId}）。
+ * 刷新时原子地比较并替换为新的令牌ID；已被替换的旧刷新令牌再次出现，说明令牌可能被窃取并重放（reuse），
+ * 由调用方吊销整个令牌族。
+ */
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenStore {
+
+    private static final String KEY_PREFIX = "jwt:refresh:";
+
+    /**
+     * 比较并替换：当前值等于期望的令牌ID时替换为新ID并重置过期时间
+     */
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+                    + "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) return 1 "
+                    + "else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 登录时记录新令牌族的第一个刷新令牌
+     */
+    public void start(String familyId, String tokenId, Duration ttl) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + familyId, tokenId, ttl);
+    }
+
+    /**
+     * 轮换；返回false表示出示的刷新令牌不是该族当前的令牌（已被使用过或令牌族已吊销）
+     */
+    public boolean rotate(String familyId, String tokenId, String newTokenId, Duration ttl) {
+        Long result = redisTemplate.execute(ROTATE_SCRIPT, Collections.singletonList(KEY_PREFIX + familyId),
+                tokenId, newTokenId, String.valueOf(ttl.toMillis()));
+        return result != null && result == 1L;
+    }
+
+    /**
+     * 吊销令牌族（之后该族的任何刷新令牌都无法使用）
+     */
+    public void revoke(String familyId) {
+        redisTemplate.delete(KEY_PREFIX + familyId);
+    }
+}
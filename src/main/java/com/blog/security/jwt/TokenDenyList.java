@@ -0,0 +1,241 @@
+package com.blog.security.jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token吊销名单
+ * 吊销记录存放在 Redis（jwt:deny:{id}，TTL 等于 Token 剩余有效期），本地用布隆过滤器做前置判断：
+ * 绝大多数请求的 Token 未被吊销，布隆过滤器判定"不存在"即可放行，不产生网络往返；
+ * 只有判定"可能存在"时才查询 Redis 确认。吊销时通过 Redis 频道通知其他节点写入各自的布隆过滤器，
+ * 布隆过滤器无法删除元素，每小时从 Redis 重建一次以清除已过期的记录。
+ */
+@Slf4j
+@Component
+public class TokenDenyList {
+
+    private static final String KEY_PREFIX = "jwt:deny:";
+    private static final String CHANNEL = "jwt:revocation";
+
+    /**
+     * 布隆过滤器容量与误判率（管理员 Token 的吊销量很小，按1万条、1%误判率设计，约12KB）
+     */
+    private static final int EXPECTED_INSERTIONS = 10000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private volatile BloomFilter filter = newFilter();
+    private volatile BloomFilter rebuilding;
+    private final Lock rebuildLock = new ReentrantLock();
+
+    /**
+     * 启动时未能从 Redis 加载吊销记录：布隆过滤器不完整，检查时直接查询 Redis
+     */
+    private volatile boolean degraded;
+
+    private final Counter bloomNegativeCounter;
+    private final Counter revokedCounter;
+    private final Counter falsePositiveCounter;
+
+    public TokenDenyList(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+                         MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.bloomNegativeCounter = counter(meterRegistry, "bloom-negative");
+        this.revokedCounter = counter(meterRegistry, "revoked");
+        this.falsePositiveCounter = counter(meterRegistry, "false-positive");
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("blog.jwt.deny.checks")
+                .tag("result", result)
+                .description("Token吊销检查结果")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> addLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL));
+        rebuild();
+    }
+
+    /**
+     * 吊销（ttl 为被吊销 Token 的剩余有效期，已过期的无需记录）
+     */
+    public void revoke(String id, Duration ttl) {
+        if (id == null || ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        redisTemplate.opsForValue().set(KEY_PREFIX + id, "1", ttl);
+        addLocal(id);
+        redisTemplate.convertAndSend(CHANNEL, id);
+    }
+
+    /**
+     * 任一ID已被吊销即返回true
+     */
+    public boolean isRevoked(String... ids) {
+        boolean mightContain = false;
+        if (!degraded) {
+            BloomFilter current = filter;
+            for (String id : ids) {
+                if (id != null && current.mightContain(id)) {
+                    mightContain = true;
+                    break;
+                }
+            }
+            if (!mightContain) {
+                bloomNegativeCounter.increment();
+                return false;
+            }
+        }
+
+        try {
+            for (String id : ids) {
+                if (id != null && Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + id))) {
+                    revokedCounter.increment();
+                    return true;
+                }
+            }
+            if (mightContain) {
+                falsePositiveCounter.increment();
+            }
+            return false;
+        } catch (Exception e) {
+            // 布隆过滤器已判定可能吊销时按已吊销处理；降级模式下 Redis 不可用时放行，避免管理后台整体不可用
+            log.warn("查询Token吊销名单失败", e);
+            return mightContain;
+        }
+    }
+
+    /**
+     * 从 Redis 重建布隆过滤器（清除已过期的吊销记录）
+     */
+    @Scheduled(fixedDelay = 3600000, initialDelay = 3600000)
+    public void rebuild() {
+        // 显式锁：重建包含 Redis IO，避免 synchronized 在虚拟线程模式下钉住载体线程
+        rebuildLock.lock();
+        try {
+            BloomFilter next = newFilter();
+            rebuilding = next;
+            int count = load(next);
+            filter = next;
+            degraded = false;
+            log.info("Token吊销名单已加载: {}条", count);
+        } catch (Exception e) {
+            if (filter.isEmpty()) {
+                degraded = true;
+            }
+            log.error("加载Token吊销名单失败{}", degraded ? "，吊销检查将直接查询Redis" : "", e);
+        } finally {
+            rebuilding = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    private int load(BloomFilter target) {
+        int count = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build())) {
+            while (cursor.hasNext()) {
+                target.put(cursor.next().substring(KEY_PREFIX.length()));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 先读 rebuilding 再读 filter：重建先切换 filter 再清空 rebuilding，
+     * 读到 null 时要么重建尚未开始（之后的扫描会包含该记录），要么随后读到的已是新的 filter
+     */
+    private void addLocal(String id) {
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(id);
+        }
+        filter.put(id);
+    }
+
+    private static BloomFilter newFilter() {
+        return new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * 线程安全的布隆过滤器（位数组为 AtomicLongArray，哈希为 FNV-1a + murmur3 fmix64 的双重哈希）
+     */
+    static class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private volatile boolean empty = true;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((m + 63) >>> 6));
+            this.bitCount = (long) bits.length() << 6;
+            this.hashCount = Math.max(1, (int) Math.round((double) m / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+                long mask = 1L << index;
+                bits.getAndAccumulate((int) (index >>> 6), mask, (current, m) -> current | m);
+            }
+            empty = false;
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isEmpty() {
+            return empty;
+        }
+
+        private static long hash(String value) {
+            long h = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                h ^= b;
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.blog.service;
 
+import com.blog.common.response.CursorPageResult;
 import com.blog.common.response.PageResult;
 import com.blog.model.dto.article.ArticleDetailResponse;
 import com.blog.model.dto.article.ArticleListResponse;
@@ -18,11 +19,26 @@ public interface ArticleService {
      */
     PageResult<ArticleListResponse> getArticleList(Long categoryId, String keyword, Pageable pageable);
 
+    /**
+     * 获取文章列表（公开，游标分页）
+     */
+    CursorPageResult<ArticleListResponse> getArticleListByCursor(Long categoryId, String cursor, int size);
+
+    /**
+     * 全文搜索文章（标题、摘要和正文，按相关度排序，带高亮片段）
+     */
+    PageResult<ArticleListResponse> searchArticles(String keyword, int page, int size);
+
     /**
      * 获取文章详情（公开）
      */
     ArticleDetailResponse getArticleDetail(Long id);
 
+    /**
+     * 获取文章详情的 ETag（只查询版本列，不渲染正文；文章不存在或未发布时返回null）
+     */
+    String getArticleDetailETag(Long id);
+
     /**
      * 获取置顶文章
      */
@@ -49,9 +65,10 @@ public interface ArticleService {
     void incrementLikes(Long id);
 
     /**
-     * 获取文章列表（管理端，分页，支持搜索和筛选）
+     * 获取文章列表（管理端，分页，支持搜索和筛选；booleanMode 为 true 时关键词按全文检索布尔模式解析）
      */
-    PageResult<ArticleListResponse> getArticleListForAdmin(Pageable pageable, String keyword, Long categoryId, Integer status);
+    PageResult<ArticleListResponse> getArticleListForAdmin(Pageable pageable, String keyword, Long categoryId, Integer status,
+                                                           boolean booleanMode);
 
     /**
      * 获取文章详情（管理端，不限制状态）
@@ -14,12 +14,17 @@ public interface AuthService {
     LoginResponse login(LoginRequest request, String ipAddress);
 
     /**
-     * 刷新Token
+     * 刷新Token（轮换刷新令牌；已使用过的刷新令牌再次出现时吊销整个登录会话）
      */
     LoginResponse refreshToken(String refreshToken);
 
     /**
-     * 登出
+     * 登出（吊销访问令牌及其所属登录会话的刷新令牌）
      */
-    void logout();
+    void logout(String accessToken, String refreshToken);
+
+    /**
+     * 校验访问令牌（签名、有效期、类型及是否已吊销）
+     */
+    boolean validateAccessToken(String accessToken);
 }
@@ -0,0 +1,17 @@
+package com.blog.service;
+
+import com.blog.model.dto.bootstrap.BootstrapResponse;
+
+/**
+ * 首页启动数据服务接口
+ */
+public interface BootstrapService {
+
+    /**
+     * 获取首页首屏所需的全部数据（有部分加载失败或超时时 complete 为 false）
+     *
+     * @param size     文章列表每页数量
+     * @param hotLimit 热门文章数量
+     */
+    BootstrapResponse getBootstrap(int size, int hotLimit);
+}
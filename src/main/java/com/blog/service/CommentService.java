@@ -1,9 +1,11 @@
 package com.blog.service;
 
+import com.blog.common.response.CursorPageResult;
 import com.blog.common.response.PageResult;
 import com.blog.model.dto.comment.AdminCommentResponse;
 import com.blog.model.dto.comment.CommentCreateRequest;
-import com.blog.model.dto.comment.CommentTreeResponse;
+import com.blog.model.dto.comment.CommentThreadResponse;
+import com.fasterxml.jackson.databind.util.RawValue;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
@@ -14,9 +16,19 @@ import java.util.List;
 public interface CommentService {
 
     /**
-     * 获取文章的评论列表（树形结构）
+     * 获取文章的评论列表（树形结构，返回预先序列化好的 JSON 数组，元素结构同 CommentTreeResponse）
      */
-    List<CommentTreeResponse> getArticleComments(Long articleId);
+    RawValue getArticleComments(Long articleId);
+
+    /**
+     * 获取文章的顶级评论（按 (createdAt, id) 游标分页，附带回复数和最早的 replyLimit 条回复）
+     */
+    CursorPageResult<CommentThreadResponse> getArticleCommentThreads(Long articleId, String cursor, int size, int replyLimit);
+
+    /**
+     * 展开评论的直接回复（游标分页，附带每条回复的回复数）
+     */
+    CursorPageResult<CommentThreadResponse> getCommentReplies(Long commentId, String cursor, int size);
 
     /**
      * 发表评论
@@ -28,6 +40,11 @@ public interface CommentService {
      */
     PageResult<AdminCommentResponse> getCommentsForAdmin(Pageable pageable, Long articleId, Integer status);
 
+    /**
+     * 获取评论管理列表（游标分页，最新的在前）
+     */
+    CursorPageResult<AdminCommentResponse> getCommentsForAdminByCursor(String cursor, int size, Long articleId, Integer status);
+
     /**
      * 删除评论（级联删除子评论）
      */
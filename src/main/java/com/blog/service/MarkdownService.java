@@ -1,10 +1,17 @@
 package com.blog.service;
 
+import com.blog.model.dto.markdown.MarkdownRenderResult;
+
 /**
  * Markdown服务接口
  */
 public interface MarkdownService {
 
+    /**
+     * 渲染Markdown（一次解析同时生成HTML、目录、标题锚点、字数和阅读时长）
+     */
+    MarkdownRenderResult render(String markdown);
+
     /**
      * 将Markdown转换为HTML
      */
@@ -15,6 +22,11 @@ public interface MarkdownService {
      */
     String generateToc(String markdown);
 
+    /**
+     * 提取Markdown纯文本（用于全文检索和摘要片段）
+     */
+    String toPlainText(String markdown);
+
     /**
      * 读取Markdown文件
      */
@@ -1,5 +1,6 @@
 package com.blog.service;
 
+import com.blog.common.response.CursorPageResult;
 import com.blog.common.response.PageResult;
 import com.blog.model.dto.message.MessageCreateRequest;
 import com.blog.model.dto.message.MessageResponse;
@@ -17,6 +18,11 @@ public interface MessageService {
      */
     PageResult<MessageResponse> getMessageList(Pageable pageable);
 
+    /**
+     * 获取留言列表（游标分页）
+     */
+    CursorPageResult<MessageResponse> getMessageListByCursor(String cursor, int size);
+
     /**
      * 获取友情链接列表
      */
@@ -0,0 +1,36 @@
+package com.blog.service;
+
+import com.blog.search.InvertedIndex;
+
+import java.util.List;
+
+/**
+ * 全文搜索服务接口（标题、摘要和Markdown正文）
+ */
+public interface SearchService {
+
+    /**
+     * 检索文章，返回按BM25得分倒序排列的全部命中
+     */
+    List<InvertedIndex.Hit> search(String keyword);
+
+    /**
+     * 高亮文本中的命中词（HTML转义后以<mark>包裹）
+     */
+    String highlight(String text, String keyword);
+
+    /**
+     * 生成文章正文中命中位置附近的高亮摘要片段（正文纯文本取自索引，不读取文件）
+     */
+    String snippet(Long articleId, String keyword);
+
+    /**
+     * 索引文章（在当前事务提交后执行）
+     */
+    void indexArticle(Long articleId, String title, String summary, String contentPath, String markdown);
+
+    /**
+     * 从索引中移除文章（在当前事务提交后执行）
+     */
+    void removeArticle(Long articleId);
+}
@@ -0,0 +1,19 @@
+package com.blog.service;
+
+import com.blog.model.dto.statistics.DashboardStatsSnapshot;
+
+/**
+ * 统计快照服务接口
+ */
+public interface StatsSnapshotService {
+
+    /**
+     * 获取当前仪表板统计快照（尚未生成时同步计算一次）
+     */
+    DashboardStatsSnapshot getDashboardSnapshot();
+
+    /**
+     * 重新计算仪表板统计快照
+     */
+    DashboardStatsSnapshot refreshDashboardSnapshot();
+}
@@ -6,7 +6,9 @@ import com.blog.model.dto.admin.AdminProfileUpdateRequest;
 import com.blog.model.dto.admin.PasswordChangeRequest;
 import com.blog.model.entity.Admin;
 import com.blog.repository.AdminRepository;
+import com.blog.security.CustomUserDetailsService;
 import com.blog.service.AdminService;
+import com.blog.util.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +25,7 @@ public class AdminServiceImpl implements AdminService {
 
     private final AdminRepository adminRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
 
     @Override
     @Transactional(readOnly = true)
@@ -80,6 +83,8 @@ public class AdminServiceImpl implements AdminService {
         // 更新密码
         admin.setPassword(passwordEncoder.encode(request.getNewPassword()));
         adminRepository.save(admin);
+        // 提交后失效认证缓存，旧Token因密码版本不一致随即失效
+        TransactionUtil.afterCommit(() -> userDetailsService.evict(username));
 
         log.info("管理员密码修改成功: {}", username);
     }
@@ -3,6 +3,7 @@ package com.blog.service.impl;
 import com.blog.common.enums.ErrorCode;
 import com.blog.config.properties.BlogProperties;
 import com.blog.exception.BusinessException;
+import com.blog.model.dto.announcement.ActiveAnnouncementsSnapshot;
 import com.blog.model.dto.announcement.AnnouncementResponse;
 import com.blog.model.dto.updatelog.UpdateLogRequest;
 import com.blog.model.dto.updatelog.UpdateLogResponse;
@@ -14,6 +15,10 @@ import com.blog.service.AnnouncementService;
 import com.blog.service.MarkdownService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -43,27 +48,57 @@ public class AnnouncementServiceImpl implements AnnouncementService {
     private final UpdateLogRepository updateLogRepository;
     private final MarkdownService markdownService;
     private final BlogProperties blogProperties;
+    private final CacheManager cacheManager;
+
+    private static final String CACHE_ANNOUNCEMENTS = "announcements";
+    private static final String ACTIVE_ANNOUNCEMENTS_KEY = "active";
 
     @Override
     @Transactional(readOnly = true)
     public Optional<AnnouncementResponse> getActiveAnnouncement() {
-        List<Announcement> announcements = announcementRepository.findActiveAnnouncement(
-            LocalDateTime.now(),
-            PageRequest.of(0, 1)
-        );
-        return announcements.isEmpty() ? Optional.empty() : Optional.of(convertAnnouncementToResponse(announcements.get(0)));
+        return getActiveAnnouncementsSnapshot().getAnnouncements().stream().findFirst();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<AnnouncementResponse> getAllActiveAnnouncements() {
+        return getActiveAnnouncementsSnapshot().getAnnouncements();
+    }
+
+    /**
+     * 获取当前有效公告的快照
+     * 快照记录下一次公告开始或结束的时刻，到达该时刻后即使缓存未过期也重新查询，保证公告按时上线和下线
+     */
+    private ActiveAnnouncementsSnapshot getActiveAnnouncementsSnapshot() {
+        Cache cache = cacheManager.getCache(CACHE_ANNOUNCEMENTS);
+        LocalDateTime now = LocalDateTime.now();
+        ActiveAnnouncementsSnapshot snapshot = cache != null
+                ? cache.get(ACTIVE_ANNOUNCEMENTS_KEY, ActiveAnnouncementsSnapshot.class) : null;
+        if (snapshot != null && (snapshot.getValidUntil() == null || now.isBefore(snapshot.getValidUntil()))) {
+            return snapshot;
+        }
+
         List<Announcement> announcements = announcementRepository.findActiveAnnouncement(
-            LocalDateTime.now(),
+            now,
             PageRequest.of(0, Integer.MAX_VALUE)  // 获取所有启用的公告
         );
-        return announcements.stream()
+        // 结束时间含当秒，过了这一秒才下线
+        LocalDateTime validUntil = announcements.stream()
+                .map(announcement -> announcement.getEndTime().plusSeconds(1))
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+        LocalDateTime nextStart = announcementRepository.findNextStartTime(now);
+        if (nextStart != null && (validUntil == null || nextStart.isBefore(validUntil))) {
+            validUntil = nextStart;
+        }
+
+        snapshot = new ActiveAnnouncementsSnapshot(announcements.stream()
                 .map(this::convertAnnouncementToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), validUntil);
+        if (cache != null) {
+            cache.put(ACTIVE_ANNOUNCEMENTS_KEY, snapshot);
+        }
+        return snapshot;
     }
 
     @Override
@@ -77,6 +112,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "announcements", key = "'active'")
     public Long createAnnouncement(Announcement announcement) {
         announcement = announcementRepository.save(announcement);
         log.info("创建公告成功: id={}, title={}", announcement.getId(), announcement.getTitle());
@@ -85,6 +121,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "announcements", key = "'active'")
     public void updateAnnouncement(Long id, Announcement updatedAnnouncement) {
         Announcement announcement = announcementRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND));
@@ -101,6 +138,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "announcements", key = "'active'")
     public void deleteAnnouncement(Long id) {
         Announcement announcement = announcementRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND));
@@ -111,6 +149,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "announcements", key = "'update-logs'", sync = true)
     public List<UpdateLogResponse> getAllUpdateLogs() {
         // 从数据库读取更新日志记录
         List<UpdateLog> logs = updateLogRepository.findAllByOrderByReleaseDateDesc();
@@ -134,7 +173,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
                 // 根据 content_path 读取文件内容
                 String content = readUpdateLogFile(updateLog.getContentPath());
                 response.setContent(content);
-                response.setContentHtml(markdownService.markdownToHtml(content));
+                response.setContentHtml(markdownService.render(content).getHtml());
 
                 responses.add(response);
             } catch (Exception e) {
@@ -169,6 +208,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "announcements", key = "'update-logs'")
     public Long createUpdateLog(UpdateLogRequest request) {
         try {
             // 检查版本号是否已存在
@@ -229,6 +269,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "announcements", key = "'update-logs'")
     public void updateUpdateLog(Long id, UpdateLogRequest request) {
         try {
             // 查找现有记录
@@ -278,6 +319,7 @@ public class AnnouncementServiceImpl implements AnnouncementService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "announcements", key = "'update-logs'")
     public void deleteUpdateLog(Long id) {
         try {
             // 查找记录
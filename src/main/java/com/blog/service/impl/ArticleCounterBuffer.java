@@ -0,0 +1,225 @@
+package com.blog.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 文章浏览量/点赞数写缓冲
+ * 计数先累加在内存中（每篇文章一个LongAdder），定时合并为多行UPDATE批量写回数据库，停机时再写回一次；
+ * 读取时叠加尚未取出写回的增量，并按文章记录已返回的最大值，保证同一节点上读到的计数单调递增。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleCounterBuffer {
+
+    /**
+     * 单条UPDATE语句包含的最大文章数
+     */
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, Counter> views = new ConcurrentHashMap<>();
+    private final Map<Long, Counter> likes = new ConcurrentHashMap<>();
+    private final Lock flushLock = new ReentrantLock();
+
+    public void incrementViews(Long articleId) {
+        increment(views, articleId);
+    }
+
+    public void incrementLikes(Long articleId) {
+        increment(likes, articleId);
+    }
+
+    /**
+     * 已存在的计数器直接无锁累加（computeIfAbsent 命中时不锁桶）；计数器恰好被回收时换用新的计数器重试
+     */
+    private static void increment(Map<Long, Counter> counters, Long articleId) {
+        while (!counters.computeIfAbsent(articleId, id -> new Counter()).increment()) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 数据库中的浏览量叠加尚未写回的增量
+     */
+    public long mergeViews(Long articleId, long persisted) {
+        Counter counter = views.get(articleId);
+        return counter == null ? persisted : counter.merge(persisted);
+    }
+
+    /**
+     * 数据库中的点赞数叠加尚未写回的增量
+     */
+    public long mergeLikes(Long articleId, long persisted) {
+        Counter counter = likes.get(articleId);
+        return counter == null ? persisted : counter.merge(persisted);
+    }
+
+    /**
+     * 定时写回（停机时也执行一次）
+     */
+    @Scheduled(fixedDelay = 5000)
+    @PreDestroy
+    public void flush() {
+        // 用显式锁而非 synchronized：写回含数据库IO，虚拟线程模式下 synchronized 会钉住载体线程
+        flushLock.lock();
+        try {
+            flush(views, "views");
+            flush(likes, "likes");
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flush(Map<Long, Counter> counters, String column) {
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        counters.forEach((articleId, counter) -> {
+            long delta = counter.take();
+            if (delta > 0) {
+                deltas.put(articleId, delta);
+            } else {
+                // 一个写回周期内没有新增计数的计数器回收，避免无效文章ID长期占用内存
+                counter.retire(() -> counters.remove(articleId, counter));
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+        for (int from = 0; from < entries.size(); from += FLUSH_CHUNK_SIZE) {
+            List<Map.Entry<Long, Long>> chunk = entries.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, entries.size()));
+            try {
+                jdbcTemplate.update(buildUpdateSql(column, chunk.size()), buildUpdateArgs(chunk));
+            } catch (Exception e) {
+                // 写回失败的增量退回缓冲，下次重试
+                log.error("写回文章{}计数失败: {}篇", column, chunk.size(), e);
+                for (Map.Entry<Long, Long> entry : chunk) {
+                    counters.get(entry.getKey()).restore(entry.getValue());
+                }
+            }
+        }
+        log.debug("写回文章{}计数: {}篇", column, deltas.size());
+    }
+
+    /**
+     * UPDATE tb_articles SET col = col + CASE id WHEN ? THEN ? ... END, updated_at = updated_at WHERE id IN (...)
+     * 保持updated_at不变（计数变化不算文章修改）
+     */
+    private static String buildUpdateSql(String column, int size) {
+        StringBuilder sql = new StringBuilder("UPDATE tb_articles SET ")
+                .append(column).append(" = ").append(column).append(" + CASE id");
+        for (int i = 0; i < size; i++) {
+            sql.append(" WHEN ? THEN ?");
+        }
+        sql.append(" ELSE 0 END, updated_at = updated_at WHERE id IN (");
+        for (int i = 0; i < size; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(")").toString();
+    }
+
+    private static Object[] buildUpdateArgs(List<Map.Entry<Long, Long>> chunk) {
+        Object[] args = new Object[chunk.size() * 3];
+        int i = 0;
+        for (Map.Entry<Long, Long> entry : chunk) {
+            args[i++] = entry.getKey();
+            args[i++] = entry.getValue();
+        }
+        for (Map.Entry<Long, Long> entry : chunk) {
+            args[i++] = entry.getKey();
+        }
+        return args;
+    }
+
+    /**
+     * 单篇文章的计数
+     * total 为累计增量（无锁累加）；flushed 为已取出写回的部分（只由持有 flushLock 的线程修改）；
+     * served 为已返回给读取端的最大值
+     */
+    private static class Counter {
+        private static final int ACTIVE = 0;
+        private static final int RETIRING = 1;
+        private static final int RETIRED = 2;
+
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong served = new AtomicLong();
+        private volatile long flushed;
+        private volatile int state = ACTIVE;
+
+        /**
+         * 累加；返回false表示计数器已回收，本次累加未生效，需换用新的计数器
+         */
+        boolean increment() {
+            total.increment();
+            while (true) {
+                int current = state;
+                if (current == ACTIVE) {
+                    return true;
+                }
+                if (current == RETIRED) {
+                    return false;
+                }
+                // 回收判定中：等待结果，判定会看到本次累加并放弃回收，或在本次累加之前已完成判定
+                Thread.onSpinWait();
+            }
+        }
+
+        /**
+         * 叠加未取出写回的增量：先读 total 再读 flushed，正在写回的部分不计入，
+         * 数据库值无论是否已包含它都不会重复计数；写回提交前偏少的部分由 served 兜住，读到的值不回落
+         */
+        long merge(long persisted) {
+            long candidate = persisted + total.sum() - flushed;
+            long current = served.get();
+            return candidate <= current ? current : served.accumulateAndGet(candidate, Math::max);
+        }
+
+        /**
+         * 取出待写回的增量
+         */
+        long take() {
+            long sum = total.sum();
+            long delta = sum - flushed;
+            flushed = sum;
+            return delta;
+        }
+
+        /**
+         * 写回失败：退回待写回
+         */
+        void restore(long delta) {
+            flushed -= delta;
+        }
+
+        /**
+         * 没有未写回的增量时回收：先标记回收中再检查，与 increment 的"先累加再检查状态"配对，
+         * 并发累加要么被这里看到（放弃回收），要么看到回收结果后改用新的计数器
+         */
+        void retire(Runnable remove) {
+            state = RETIRING;
+            if (total.sum() != flushed) {
+                state = ACTIVE;
+                return;
+            }
+            remove.run();
+            state = RETIRED;
+        }
+    }
+}
@@ -2,35 +2,47 @@ package com.blog.service.impl;
 
 import com.blog.common.enums.ArticleStatus;
 import com.blog.common.enums.ErrorCode;
+import com.blog.common.response.CursorPageResult;
 import com.blog.common.response.PageResult;
 import com.blog.config.properties.BlogProperties;
 import com.blog.exception.BusinessException;
 import com.blog.model.dto.article.ArticleDetailResponse;
 import com.blog.model.dto.article.ArticleListResponse;
+import com.blog.model.dto.article.ArticleListView;
 import com.blog.model.dto.article.ArticleSaveRequest;
+import com.blog.model.dto.markdown.MarkdownRenderResult;
 import com.blog.model.entity.Article;
 import com.blog.model.entity.Category;
 import com.blog.repository.ArticleRepository;
 import com.blog.repository.CategoryRepository;
 import com.blog.repository.CommentRepository;
 import com.blog.repository.VisitLogRepository;
+import com.blog.search.InvertedIndex;
 import com.blog.service.ArticleService;
 import com.blog.service.FileService;
 import com.blog.service.ImageUrlService;
 import com.blog.service.MarkdownService;
+import com.blog.service.SearchService;
+import com.blog.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -53,32 +65,93 @@ public class ArticleServiceImpl implements ArticleService {
     private final FileService fileService;
     private final ImageUrlService imageUrlService;
     private final BlogProperties blogProperties;
+    private final RenderedArticleCache renderedArticleCache;
+    private final SearchService searchService;
+    private final ArticleCounterBuffer articleCounterBuffer;
+    private final CommentTreeCache commentTreeCache;
 
     private static final Integer STATUS_PUBLISHED = ArticleStatus.PUBLISHED.getValue();
     private static final Integer STATUS_DRAFT = ArticleStatus.DRAFT.getValue();
     private static final Integer STATUS_DELETED = ArticleStatus.DELETED.getValue();
 
+    /**
+     * 全文检索最短关键词长度（与MySQL ngram_token_size一致，更短的关键词回退到LIKE）
+     */
+    private static final int MIN_FULLTEXT_KEYWORD_LENGTH = 2;
+
     @Override
     @Transactional(readOnly = true)
     public PageResult<ArticleListResponse> getArticleList(Long categoryId, String keyword, Pageable pageable) {
-        Page<Article> page;
+        Page<ArticleListView> page;
 
-        if (keyword != null && !keyword.isEmpty()) {
+        if (keyword != null && !keyword.isBlank()) {
             // 搜索文章
-            page = articleRepository.searchArticles(keyword, STATUS_PUBLISHED, pageable);
+            page = searchPublishedArticles(keyword.trim(), pageable);
         } else if (categoryId != null) {
             // 按分类查询
-            page = articleRepository.findByCategoryIdAndStatusOrderByIsTopDescCreatedAtDesc(categoryId, STATUS_PUBLISHED, pageable);
+            page = articleRepository.findListViewByCategoryIdAndStatus(categoryId, STATUS_PUBLISHED, pageable);
         } else {
             // 查询所有已发布文章
-            page = articleRepository.findByStatusOrderByIsTopDescCreatedAtDesc(STATUS_PUBLISHED, pageable);
+            page = articleRepository.findListViewByStatus(STATUS_PUBLISHED, pageable);
         }
 
-        List<ArticleListResponse> content = convertToListResponses(page.getContent());
+        List<ArticleListResponse> content = convertViewsToListResponses(page.getContent());
 
         return PageResult.of(content, page);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResult<ArticleListResponse> getArticleListByCursor(Long categoryId, String cursor, int size) {
+        CursorUtil.ArticleCursor after = CursorUtil.decodeArticle(cursor);
+        // 多查一条用于判断是否有下一页
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<ArticleListView> views = after == null
+                ? articleRepository.findListViewFirstPage(categoryId, STATUS_PUBLISHED, limit)
+                : articleRepository.findListViewAfter(categoryId, STATUS_PUBLISHED,
+                        after.isTop(), after.createdAt(), after.id(), limit);
+
+        String nextCursor = null;
+        if (views.size() > size) {
+            views = views.subList(0, size);
+            ArticleListView last = views.get(size - 1);
+            nextCursor = CursorUtil.encodeArticle(last.getIsTop(), last.getCreatedAt(), last.getId());
+        }
+
+        return CursorPageResult.of(convertViewsToListResponses(views), size, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResult<ArticleListResponse> searchArticles(String keyword, int page, int size) {
+        List<InvertedIndex.Hit> hits = searchService.search(keyword);
+
+        int from = (int) Math.min((long) page * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+        List<Long> ids = hits.subList(from, to).stream()
+                .map(hit -> (long) hit.docId())
+                .collect(Collectors.toList());
+
+        // 按得分顺序组装结果（索引中可能残留刚删除的文章，查询不到时跳过）
+        Map<Long, ArticleListView> viewMap = ids.isEmpty() ? Map.of()
+                : articleRepository.findListViewByIds(ids, STATUS_PUBLISHED).stream()
+                        .collect(Collectors.toMap(ArticleListView::getId, view -> view));
+        List<ArticleListResponse> content = new ArrayList<>();
+        for (Long id : ids) {
+            ArticleListView view = viewMap.get(id);
+            if (view == null) {
+                continue;
+            }
+            ArticleListResponse response = convertToListResponse(view);
+            response.setHighlightTitle(searchService.highlight(view.getTitle(), keyword));
+            response.setSnippet(searchService.snippet(view.getId(), keyword));
+            content.add(response);
+        }
+
+        return PageResult.of(content, page, size, (long) hits.size());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ArticleDetailResponse getArticleDetail(Long id) {
@@ -90,54 +163,81 @@ public class ArticleServiceImpl implements ArticleService {
 
     @Override
     @Transactional(readOnly = true)
+    public String getArticleDetailETag(Long id) {
+        return articleRepository.findVersionByIdAndStatus(id, STATUS_PUBLISHED)
+                .map(version -> {
+                    // 正文变更会更新 updated_at；置顶切换不更新 updated_at，单独计入；计数叠加缓冲区中的增量，与详情响应保持一致
+                    String stamp = id + ":" + version.getUpdatedAt()
+                            + ":" + version.getIsTop()
+                            + ":" + mergeViews(id, version.getViews())
+                            + ":" + mergeLikes(id, version.getLikes())
+                            + ":" + version.getCommentCount()
+                            + ":" + version.getCategoryUpdatedAt();
+                    return "\"" + DigestUtils.md5DigestAsHex(stamp.getBytes(StandardCharsets.UTF_8)) + "\"";
+                })
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "articles", key = "'top'", sync = true)
     public List<ArticleListResponse> getTopArticles() {
-        List<Article> articles = articleRepository.findByStatusAndIsTopOrderByCreatedAtDesc(STATUS_PUBLISHED, 1);
-        return convertToListResponses(articles);
+        return convertViewsToListResponses(articleRepository.findTopListView(STATUS_PUBLISHED));
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "articles", key = "'hot:' + #limit", sync = true)
     public List<ArticleListResponse> getHotArticles(int limit) {
         Pageable pageable = PageRequest.of(0, limit);
-        List<Article> articles = articleRepository.findHotArticles(STATUS_PUBLISHED, pageable);
-        return convertToListResponses(articles);
+        return convertViewsToListResponses(articleRepository.findHotListView(STATUS_PUBLISHED, pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "articles", key = "'latest:' + #limit", sync = true)
     public List<ArticleListResponse> getLatestArticles(int limit) {
         Pageable pageable = PageRequest.of(0, limit);
-        List<Article> articles = articleRepository.findLatestArticles(STATUS_PUBLISHED, pageable);
-        return convertToListResponses(articles);
+        return convertViewsToListResponses(articleRepository.findLatestListView(STATUS_PUBLISHED, pageable));
     }
 
     @Override
-    @Transactional
     public void incrementViews(Long id) {
-        articleRepository.incrementViews(id);
+        articleCounterBuffer.incrementViews(id);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public void incrementLikes(Long id) {
         // 检查文章是否存在
         if (!articleRepository.existsById(id)) {
             throw new BusinessException(ErrorCode.ARTICLE_NOT_FOUND);
         }
-        articleRepository.incrementLikes(id);
+        articleCounterBuffer.incrementLikes(id);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResult<ArticleListResponse> getArticleListForAdmin(Pageable pageable, String keyword, Long categoryId, Integer status) {
+    public PageResult<ArticleListResponse> getArticleListForAdmin(Pageable pageable, String keyword, Long categoryId,
+                                                                  Integer status, boolean booleanMode) {
         Specification<Article> spec = Specification.where(null);
 
         if (keyword != null && !keyword.isBlank()) {
-            String pattern = "%" + keyword + "%";
-            spec = spec.and((root, query, cb) -> cb.or(
-                cb.like(root.get("title"), pattern),
-                cb.like(root.get("summary"), pattern)
-            ));
+            String trimmed = keyword.trim();
+            if (trimmed.length() >= MIN_FULLTEXT_KEYWORD_LENGTH) {
+                // 布尔模式只在管理端显式开启时使用，默认按自然语言模式处理（不解析运算符）
+                String function = booleanMode ? "match_boolean" : "match_natural";
+                spec = spec.and((root, query, cb) -> cb.greaterThan(
+                    cb.function(function, Double.class, root.get("title"), root.get("summary"), cb.literal(trimmed)),
+                    0.0
+                ));
+            } else {
+                String pattern = "%" + trimmed + "%";
+                spec = spec.and((root, query, cb) -> cb.or(
+                    cb.like(root.get("title"), pattern),
+                    cb.like(root.get("summary"), pattern)
+                ));
+            }
         }
         if (categoryId != null) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("categoryId"), categoryId));
@@ -146,7 +246,17 @@ public class ArticleServiceImpl implements ArticleService {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
         }
 
-        Page<Article> page = articleRepository.findAll(spec, pageable);
+        Page<Article> page;
+        try {
+            page = articleRepository.findAll(spec, pageable);
+        } catch (DataAccessException e) {
+            if (!booleanMode) {
+                throw e;
+            }
+            // 布尔表达式语法错误（如括号、引号不成对）
+            log.warn("布尔模式检索失败: keyword={}", keyword, e);
+            throw new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "布尔检索表达式有误");
+        }
         List<ArticleListResponse> content = convertToListResponses(page.getContent());
 
         // 管理端列表：标记存在草稿文件的文章
@@ -173,8 +283,11 @@ public class ArticleServiceImpl implements ArticleService {
         if (draftContent != null) {
             response.setHasDraft(true);
             response.setMarkdownContent(draftContent);
-            response.setContent(markdownService.markdownToHtml(draftContent));
-            response.setToc(markdownService.generateToc(draftContent));
+            MarkdownRenderResult draft = markdownService.render(draftContent);
+            response.setContent(draft.getHtml());
+            response.setToc(draft.getToc());
+            response.setWordCount(draft.getWordCount());
+            response.setReadingTime(draft.getReadingTime());
         }
 
         return response;
@@ -182,6 +295,7 @@ public class ArticleServiceImpl implements ArticleService {
 
     @Override
     @Transactional
+    @CacheEvict(value = {"articles", "categories"}, allEntries = true)
     public ArticleDetailResponse createArticle(ArticleSaveRequest request) {
         // 检查分类是否存在（如果提供了分类ID）
         if (request.getCategoryId() != null) {
@@ -212,8 +326,10 @@ public class ArticleServiceImpl implements ArticleService {
 
         // 使用文章ID保存Markdown文件
         String contentPath = markdownService.saveMarkdownFile(request.getContent(), article.getId() + ".md");
+        renderedArticleCache.publish(article.getId(), contentPath, request.getContent());
         article.setContentPath(contentPath);
         articleRepository.save(article);
+        syncSearchIndex(article, request.getContent());
 
         // 更新分类文章数
         if (request.getStatus().equals(STATUS_PUBLISHED) && request.getCategoryId() != null) {
@@ -226,6 +342,7 @@ public class ArticleServiceImpl implements ArticleService {
 
     @Override
     @Transactional
+    @CacheEvict(value = {"articles", "categories"}, allEntries = true)
     public ArticleDetailResponse updateArticle(Long id, ArticleSaveRequest request) {
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ARTICLE_NOT_FOUND));
@@ -251,6 +368,7 @@ public class ArticleServiceImpl implements ArticleService {
 
         // 更新Markdown文件，使用文章ID作为文件名
         String contentPath = markdownService.saveMarkdownFile(request.getContent(), id + ".md");
+        renderedArticleCache.publish(id, contentPath, request.getContent());
 
         // 明确保存/发布时清理草稿文件
         markdownService.deleteDraftFile(id);
@@ -286,6 +404,7 @@ public class ArticleServiceImpl implements ArticleService {
         }
 
         articleRepository.save(article);
+        syncSearchIndex(article, request.getContent());
 
         // 更新分类文章数
         updateCategoryArticleCount(oldCategoryId, oldStatus, request.getCategoryId(), request.getStatus());
@@ -296,6 +415,7 @@ public class ArticleServiceImpl implements ArticleService {
 
     @Override
     @Transactional
+    @CacheEvict(value = {"articles", "categories"}, allEntries = true)
     public void deleteArticle(Long id) {
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ARTICLE_NOT_FOUND));
@@ -304,6 +424,8 @@ public class ArticleServiceImpl implements ArticleService {
         article.setStatus(STATUS_DELETED);
         article.setDeletedAt(LocalDateTime.now());
         articleRepository.save(article);
+        renderedArticleCache.invalidate(id);
+        searchService.removeArticle(id);
 
         // 更新分类文章数
         if (article.getCategoryId() != null) {
@@ -315,6 +437,7 @@ public class ArticleServiceImpl implements ArticleService {
 
     @Override
     @Transactional
+    @CacheEvict(value = {"articles", "categories"}, allEntries = true)
     public void restoreArticle(Long id) {
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ARTICLE_NOT_FOUND));
@@ -333,12 +456,14 @@ public class ArticleServiceImpl implements ArticleService {
 
     @Override
     @Transactional
+    @CacheEvict(value = {"articles", "categories"}, allEntries = true)
     public void permanentlyDeleteArticle(Long id) {
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ARTICLE_NOT_FOUND));
 
         // 1. 删除关联评论
         commentRepository.deleteByArticleId(id);
+        commentTreeCache.invalidate(id);
 
         // 2. 删除关联访问日志
         visitLogRepository.deleteByArticleId(id);
@@ -353,6 +478,10 @@ public class ArticleServiceImpl implements ArticleService {
         // 3.1 删除草稿文件（如有）
         markdownService.deleteDraftFile(id);
 
+        // 3.2 删除渲染产物和搜索索引
+        renderedArticleCache.remove(id, article.getContentPath());
+        searchService.removeArticle(id);
+
         // 4. 删除封面图片
         if (article.getCoverImage() != null && !article.getCoverImage().isEmpty()) {
             try {
@@ -391,6 +520,7 @@ public class ArticleServiceImpl implements ArticleService {
 
     @Override
     @Transactional
+    @CacheEvict(value = {"articles", "categories"}, allEntries = true)
     public void toggleTop(Long id) {
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ARTICLE_NOT_FOUND));
@@ -404,6 +534,7 @@ public class ArticleServiceImpl implements ArticleService {
 
     @Override
     @Transactional
+    @CacheEvict(value = {"articles", "categories"}, allEntries = true)
     public void discardDraft(Long id) {
         if (!articleRepository.existsById(id)) {
             throw new BusinessException(ErrorCode.ARTICLE_NOT_FOUND);
@@ -412,6 +543,31 @@ public class ArticleServiceImpl implements ArticleService {
         log.info("放弃文章草稿: id={}", id);
     }
 
+    /**
+     * 同步搜索索引：已发布的文章写入索引，其他状态从索引中移除
+     */
+    private void syncSearchIndex(Article article, String markdown) {
+        if (STATUS_PUBLISHED.equals(article.getStatus())) {
+            searchService.indexArticle(article.getId(), article.getTitle(), article.getSummary(),
+                    article.getContentPath(), markdown);
+        } else {
+            searchService.removeArticle(article.getId());
+        }
+    }
+
+    /**
+     * 搜索已发布文章：使用全文索引按相关度排序，过短的关键词回退到LIKE
+     */
+    private Page<ArticleListView> searchPublishedArticles(String keyword, Pageable pageable) {
+        if (keyword.length() < MIN_FULLTEXT_KEYWORD_LENGTH) {
+            return articleRepository.searchListView(keyword, STATUS_PUBLISHED, pageable);
+        }
+
+        // 按相关度排序，忽略调用方传入的排序字段；公开搜索固定使用自然语言模式，关键词中的 - + ( ) " 等按普通字符处理
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return articleRepository.fullTextSearchListView(keyword, STATUS_PUBLISHED, unsorted);
+    }
+
     /**
      * 批量构建分类名称映射
      */
@@ -452,8 +608,8 @@ public class ArticleServiceImpl implements ArticleService {
             response.setCategoryName(categoryNameMap.get(article.getCategoryId()));
         }
 
-        response.setViews(article.getViews());
-        response.setLikes(article.getLikes());
+        response.setViews(mergeViews(article.getId(), article.getViews()));
+        response.setLikes(mergeLikes(article.getId(), article.getLikes()));
         response.setCommentCount(article.getCommentCount());
         response.setIsTop(article.getIsTop());
         response.setStatus(article.getStatus());
@@ -464,6 +620,51 @@ public class ArticleServiceImpl implements ArticleService {
         return response;
     }
 
+    /**
+     * 批量转换列表投影为列表响应DTO（分类名称已在查询中关联）
+     */
+    private List<ArticleListResponse> convertViewsToListResponses(List<ArticleListView> views) {
+        return views.stream()
+                .map(this::convertToListResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 列表投影转换为列表响应DTO
+     */
+    private ArticleListResponse convertToListResponse(ArticleListView view) {
+        ArticleListResponse response = new ArticleListResponse();
+        response.setId(view.getId());
+        response.setTitle(view.getTitle());
+        response.setSummary(view.getSummary());
+        response.setCoverImage(imageUrlService.toUrl(view.getCoverImage()));
+        response.setCategoryId(view.getCategoryId());
+        response.setCategoryName(view.getCategoryName());
+        response.setViews(mergeViews(view.getId(), view.getViews()));
+        response.setLikes(mergeLikes(view.getId(), view.getLikes()));
+        response.setCommentCount(view.getCommentCount());
+        response.setIsTop(view.getIsTop());
+        response.setStatus(view.getStatus());
+        response.setPublishedAt(view.getPublishedAt());
+        response.setCreatedAt(view.getCreatedAt());
+        response.setDeletedAt(view.getDeletedAt());
+        return response;
+    }
+
+    /**
+     * 浏览量叠加尚未写回数据库的增量
+     */
+    private Long mergeViews(Long articleId, Long views) {
+        return articleCounterBuffer.mergeViews(articleId, views == null ? 0L : views);
+    }
+
+    /**
+     * 点赞数叠加尚未写回数据库的增量
+     */
+    private Integer mergeLikes(Long articleId, Integer likes) {
+        return (int) articleCounterBuffer.mergeLikes(articleId, likes == null ? 0 : likes);
+    }
+
     /**
      * 转换为详情响应DTO
      */
@@ -472,11 +673,13 @@ public class ArticleServiceImpl implements ArticleService {
         response.setId(article.getId());
         response.setTitle(article.getTitle());
 
-        // 读取并解析Markdown内容
-        String markdownContent = markdownService.readMarkdownFile(article.getContentPath());
-        response.setMarkdownContent(markdownContent);
-        response.setContent(markdownService.markdownToHtml(markdownContent));
-        response.setToc(markdownService.generateToc(markdownContent));
+        // 读取渲染结果（缓存命中时不访问文件系统和解析器）
+        RenderedArticleCache.RenderedArticle rendered = renderedArticleCache.get(article.getId(), article.getContentPath());
+        response.setMarkdownContent(rendered.getMarkdown());
+        response.setContent(rendered.getHtml());
+        response.setToc(rendered.getToc());
+        response.setWordCount(rendered.getResult().getWordCount());
+        response.setReadingTime(rendered.getResult().getReadingTime());
 
         response.setSummary(article.getSummary());
         response.setCoverImage(imageUrlService.toUrl(article.getCoverImage()));
@@ -488,8 +691,8 @@ public class ArticleServiceImpl implements ArticleService {
                     .ifPresent(category -> response.setCategoryName(category.getName()));
         }
 
-        response.setViews(article.getViews());
-        response.setLikes(article.getLikes());
+        response.setViews(mergeViews(article.getId(), article.getViews()));
+        response.setLikes(mergeLikes(article.getId(), article.getLikes()));
         response.setCommentCount(article.getCommentCount());
         response.setIsTop(article.getIsTop());
         response.setStatus(article.getStatus());
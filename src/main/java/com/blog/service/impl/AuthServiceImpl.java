@@ -1,23 +1,34 @@
 package com.blog.service.impl;
 
 import com.blog.common.enums.ErrorCode;
+import com.blog.config.properties.BlogProperties;
 import com.blog.exception.BusinessException;
 import com.blog.model.dto.auth.LoginRequest;
 import com.blog.model.dto.auth.LoginResponse;
 import com.blog.model.entity.Admin;
 import com.blog.repository.AdminRepository;
+import com.blog.security.AdminUserDetails;
+import com.blog.security.CustomUserDetailsService;
 import com.blog.security.jwt.JwtTokenProvider;
+import com.blog.security.jwt.RefreshTokenStore;
+import com.blog.security.jwt.TokenDenyList;
 import com.blog.service.AuthService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * 认证服务实现
@@ -30,11 +41,18 @@ public class AuthServiceImpl implements AuthService {
     private final AdminRepository adminRepository;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenDenyList tokenDenyList;
+    private final RefreshTokenStore refreshTokenStore;
+    private final BlogProperties blogProperties;
 
     @Override
     @Transactional
     public LoginResponse login(LoginRequest request, String ipAddress) {
         try {
+            // 登录时按数据库中的最新密码校验（同时刷新认证缓存）
+            userDetailsService.evict(request.getUsername());
+
             // 认证用户
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -43,8 +61,9 @@ public class AuthServiceImpl implements AuthService {
                     )
             );
 
-            // 生成JWT Token
-            String jwt = jwtTokenProvider.generateToken(authentication);
+            // 生成访问令牌和刷新令牌（新的登录会话）
+            AdminUserDetails userDetails = (AdminUserDetails) authentication.getPrincipal();
+            LoginResponse response = issueTokens(userDetails, JwtTokenProvider.newTokenId(), null, null);
 
             // 更新最后登录信息
             Admin admin = adminRepository.findByUsername(request.getUsername())
@@ -55,7 +74,8 @@ public class AuthServiceImpl implements AuthService {
             adminRepository.save(admin);
 
             log.info("用户登录成功: {}, IP: {}", request.getUsername(), ipAddress);
-            return new LoginResponse(jwt, admin.getUsername(), admin.getNickname());
+            response.setNickname(admin.getNickname());
+            return response;
 
         } catch (AuthenticationException e) {
             log.warn("用户登录失败: {}, 原因: {}", request.getUsername(), e.getMessage());
@@ -65,20 +85,86 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public LoginResponse refreshToken(String refreshToken) {
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
-            throw new BusinessException("Token无效或已过期");
+        Claims claims = jwtTokenProvider.parseToken(refreshToken);
+        if (claims == null || !JwtTokenProvider.isRefreshToken(claims)) {
+            throw new BusinessException(ErrorCode.TOKEN_INVALID);
+        }
+        String familyId = claims.get(JwtTokenProvider.CLAIM_FAMILY, String.class);
+        if (tokenDenyList.isRevoked(familyId)) {
+            throw new BusinessException(ErrorCode.TOKEN_REVOKED);
+        }
+
+        AdminUserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        } catch (UsernameNotFoundException e) {
+            throw new BusinessException(ErrorCode.TOKEN_INVALID);
+        }
+        // 签发后密码已修改：该登录会话作废
+        String passwordVersion = claims.get(JwtTokenProvider.CLAIM_PASSWORD_VERSION, String.class);
+        if (!userDetails.getPasswordVersion().equals(passwordVersion)) {
+            log.info("刷新令牌签发后密码已修改，吊销登录会话: user={}, family={}", userDetails.getUsername(), familyId);
+            revokeFamily(familyId);
+            throw new BusinessException(ErrorCode.TOKEN_REVOKED);
         }
+        Admin admin = adminRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
 
-        String username = jwtTokenProvider.getUsernameFromToken(refreshToken);
-        Admin admin = adminRepository.findByUsername(username)
-            .orElseThrow(() -> new BusinessException("用户不存在"));
+        LoginResponse response = issueTokens(userDetails, familyId, claims.getId(), claims);
+        response.setNickname(admin.getNickname());
+        return response;
+    }
 
-        String newAccessToken = jwtTokenProvider.generateTokenFromUsername(admin.getUsername());
-        return new LoginResponse(newAccessToken, admin.getUsername(), admin.getNickname());
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        Set<String> families = new HashSet<>();
+        Claims access = StringUtils.hasText(accessToken) ? jwtTokenProvider.parseToken(accessToken) : null;
+        if (access != null && JwtTokenProvider.isAccessToken(access)) {
+            tokenDenyList.revoke(access.getId(), JwtTokenProvider.remainingLifetime(access));
+            families.add(access.get(JwtTokenProvider.CLAIM_FAMILY, String.class));
+        }
+        Claims refresh = StringUtils.hasText(refreshToken) ? jwtTokenProvider.parseToken(refreshToken) : null;
+        if (refresh != null && JwtTokenProvider.isRefreshToken(refresh)) {
+            families.add(refresh.get(JwtTokenProvider.CLAIM_FAMILY, String.class));
+        }
+        families.remove(null);
+        families.forEach(this::revokeFamily);
+        log.info("用户登出: {}", access != null ? access.getSubject() : refresh != null ? refresh.getSubject() : "unknown");
     }
 
     @Override
-    public void logout() {
-        log.info("User logged out");
+    public boolean validateAccessToken(String accessToken) {
+        Claims claims = jwtTokenProvider.parseToken(accessToken);
+        return claims != null && JwtTokenProvider.isAccessToken(claims)
+                && !tokenDenyList.isRevoked(claims.getId(), claims.get(JwtTokenProvider.CLAIM_FAMILY, String.class));
+    }
+
+    /**
+     * 签发访问令牌和刷新令牌
+     * 首次登录（previousTokenId 为空）新建令牌族；刷新时原子轮换，出示的刷新令牌不是该族当前令牌即视为重放，吊销整个令牌族
+     */
+    private LoginResponse issueTokens(AdminUserDetails userDetails, String familyId, String previousTokenId, Claims previous) {
+        String refreshTokenId = JwtTokenProvider.newTokenId();
+        Duration refreshTtl = Duration.ofMillis(blogProperties.getJwt().getRefreshExpiration());
+        if (previousTokenId == null) {
+            refreshTokenStore.start(familyId, refreshTokenId, refreshTtl);
+        } else if (!refreshTokenStore.rotate(familyId, previousTokenId, refreshTokenId, refreshTtl)) {
+            log.warn("检测到刷新令牌重放，吊销登录会话: user={}, family={}, issuedAt={}",
+                    userDetails.getUsername(), familyId, previous.getIssuedAt());
+            revokeFamily(familyId);
+            throw new BusinessException(ErrorCode.TOKEN_REVOKED);
+        }
+
+        String accessToken = jwtTokenProvider.generateAccessToken(userDetails, familyId);
+        String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails, familyId, refreshTokenId);
+        return new LoginResponse(accessToken, refreshToken, userDetails.getUsername(), null);
+    }
+
+    /**
+     * 吊销登录会话：刷新令牌不能再使用，已签发的访问令牌在其最长有效期内被拒绝
+     */
+    private void revokeFamily(String familyId) {
+        refreshTokenStore.revoke(familyId);
+        tokenDenyList.revoke(familyId, Duration.ofMillis(blogProperties.getJwt().getExpiration()));
     }
 }
@@ -0,0 +1,89 @@
+package com.blog.service.impl;
+
+import com.blog.model.dto.bootstrap.BootstrapResponse;
+import com.blog.service.AnnouncementService;
+import com.blog.service.ArticleService;
+import com.blog.service.BootstrapService;
+import com.blog.service.CategoryService;
+import com.blog.service.ConfigService;
+import com.blog.service.ThemeService;
+import com.blog.service.WidgetService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 首页启动数据服务实现
+ * 在有界线程池 bootstrapExecutor 中并发调用各个服务，合并为一个响应；单个部分失败或超时只置空该字段并标记响应不完整，
+ * 不影响其余部分。
+ */
+@Slf4j
+@Service
+public class BootstrapServiceImpl implements BootstrapService {
+
+    /**
+     * 单个部分的最长等待时间
+     */
+    private static final long PART_TIMEOUT_MILLIS = 3000;
+
+    private final ArticleService articleService;
+    private final CategoryService categoryService;
+    private final WidgetService widgetService;
+    private final ThemeService themeService;
+    private final AnnouncementService announcementService;
+    private final ConfigService configService;
+
+    private final Executor executor;
+
+    public BootstrapServiceImpl(ArticleService articleService, CategoryService categoryService,
+                                WidgetService widgetService, ThemeService themeService,
+                                AnnouncementService announcementService, ConfigService configService,
+                                @Qualifier("bootstrapExecutor") Executor executor) {
+        this.articleService = articleService;
+        this.categoryService = categoryService;
+        this.widgetService = widgetService;
+        this.themeService = themeService;
+        this.announcementService = announcementService;
+        this.configService = configService;
+        this.executor = executor;
+    }
+
+    @Override
+    public BootstrapResponse getBootstrap(int size, int hotLimit) {
+        BootstrapResponse response = new BootstrapResponse();
+        CompletableFuture.allOf(
+                load(response, "articles", () -> articleService.getArticleList(null, null,
+                        PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt"))), response::setArticles),
+                load(response, "topArticles", articleService::getTopArticles, response::setTopArticles),
+                load(response, "hotArticles", () -> articleService.getHotArticles(hotLimit), response::setHotArticles),
+                load(response, "categories", categoryService::getAllCategories, response::setCategories),
+                load(response, "widgets", widgetService::getAppliedWidgets, response::setWidgets),
+                load(response, "theme", themeService::getAppliedTheme, response::setTheme),
+                load(response, "announcements", announcementService::getAllActiveAnnouncements, response::setAnnouncements),
+                load(response, "config", configService::getPublicConfig, response::setConfig)
+        ).join();
+        return response;
+    }
+
+    private <T> CompletableFuture<Void> load(BootstrapResponse response, String part, Supplier<T> supplier, Consumer<T> setter) {
+        return CompletableFuture.supplyAsync(supplier, executor)
+                .orTimeout(PART_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                .handle((value, e) -> {
+                    if (e != null) {
+                        log.warn("加载首页数据失败: part={}", part, e);
+                        response.setComplete(false);
+                    } else {
+                        setter.accept(value);
+                    }
+                    return null;
+                });
+    }
+}
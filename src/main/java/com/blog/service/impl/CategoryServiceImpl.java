@@ -10,6 +10,9 @@ import com.blog.repository.CategoryRepository;
 import com.blog.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +33,7 @@ public class CategoryServiceImpl implements CategoryService {
     private static final Integer STATUS_PUBLISHED = 1;
 
     @Override
+    @Cacheable(value = "categories", key = "'all'", sync = true)
     public List<CategoryResponse> getAllCategories() {
         List<Category> categories = categoryRepository.findAllByOrderBySortOrderDesc();
         return categories.stream()
@@ -38,6 +42,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Cacheable(value = "categories", key = "#id", sync = true)
     public CategoryResponse getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.CATEGORY_NOT_FOUND));
@@ -46,6 +51,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "categories", key = "'all'")
     public Long createCategory(CategorySaveRequest request) {
         // 检查分类名称是否已存在
         if (categoryRepository.existsByName(request.getName())) {
@@ -72,6 +78,11 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "categories", key = "'all'"),
+            @CacheEvict(value = "categories", key = "#id"),
+            @CacheEvict(value = "articles", allEntries = true)
+    })
     public void updateCategory(Long id, CategorySaveRequest request) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.CATEGORY_NOT_FOUND));
@@ -96,6 +107,11 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "categories", key = "'all'"),
+            @CacheEvict(value = "categories", key = "#id"),
+            @CacheEvict(value = "articles", allEntries = true, condition = "#deleteArticles")
+    })
     public void deleteCategory(Long id, boolean deleteArticles) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.CATEGORY_NOT_FOUND));
@@ -123,6 +139,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "categories", allEntries = true)
     public void updateCategoriesSort(List<Long> categoryIds) {
         for (int i = 0; i < categoryIds.size(); i++) {
             Long categoryId = categoryIds.get(i);
@@ -2,20 +2,24 @@ package com.blog.service.impl;
 
 import com.blog.common.enums.CommentStatus;
 import com.blog.common.enums.ErrorCode;
+import com.blog.common.response.CursorPageResult;
 import com.blog.common.response.PageResult;
 import com.blog.exception.BusinessException;
 import com.blog.model.dto.comment.AdminCommentResponse;
 import com.blog.model.dto.comment.CommentCreateRequest;
-import com.blog.model.dto.comment.CommentTreeResponse;
+import com.blog.model.dto.comment.CommentThreadResponse;
 import com.blog.model.entity.Article;
+import com.blog.util.CursorUtil;
 import com.blog.util.HtmlSanitizer;
 import com.blog.model.entity.Comment;
 import com.blog.repository.ArticleRepository;
 import com.blog.repository.CommentRepository;
 import com.blog.service.CommentService;
+import com.fasterxml.jackson.databind.util.RawValue;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,6 +38,7 @@ public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
     private final ArticleRepository articleRepository;
+    private final CommentTreeCache commentTreeCache;
 
     private static final Integer STATUS_DELETED = CommentStatus.DELETED.getValue();
     private static final Integer STATUS_APPROVED = CommentStatus.APPROVED.getValue();
@@ -41,21 +46,101 @@ public class CommentServiceImpl implements CommentService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<CommentTreeResponse> getArticleComments(Long articleId) {
-        // 一次查出文章所有已审核评论
-        List<Comment> allComments = commentRepository
-                .findByArticleIdAndStatusOrderByCreatedAtAsc(articleId, STATUS_APPROVED);
-
-        // 按 parentId 分组
-        Map<Long, List<Comment>> childrenMap = allComments.stream()
-                .filter(c -> c.getParentId() != null)
-                .collect(Collectors.groupingBy(Comment::getParentId));
-
-        // 构建树形结构（顶级评论 parentId 为 null）
-        return allComments.stream()
-                .filter(c -> c.getParentId() == null)
-                .map(comment -> buildCommentTree(comment, childrenMap))
+    public RawValue getArticleComments(Long articleId) {
+        // 评论树由缓存维护，写操作提交后增量更新
+        return commentTreeCache.getJson(articleId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResult<CommentThreadResponse> getArticleCommentThreads(Long articleId, String cursor, int size, int replyLimit) {
+        CursorPageResult<CommentThreadResponse> page = findThreadPage(articleId, null, cursor, size);
+        List<CommentThreadResponse> threads = page.getContent();
+        if (threads.isEmpty()) {
+            return page;
+        }
+
+        Map<Long, CommentThreadResponse> threadMap = threads.stream()
+                .collect(Collectors.toMap(CommentThreadResponse::getId, thread -> thread));
+        List<CommentThreadResponse> replies = new ArrayList<>();
+        if (replyLimit > 0) {
+            // 每楼最早的 replyLimit 条回复一次查出
+            for (Comment reply : commentRepository.findFirstReplies(articleId, STATUS_APPROVED, threadMap.keySet(), replyLimit)) {
+                CommentThreadResponse response = convertToThreadResponse(reply);
+                threadMap.get(reply.getParentId()).getReplies().add(response);
+                replies.add(response);
+            }
+        }
+
+        // 楼层和已带出的回复的回复数一次统计
+        List<CommentThreadResponse> all = new ArrayList<>(threads);
+        all.addAll(replies);
+        fillReplyCounts(articleId, all);
+
+        for (CommentThreadResponse thread : threads) {
+            List<CommentThreadResponse> shown = thread.getReplies();
+            if (thread.getReplyCount() > shown.size()) {
+                // 未带出全部回复：从最后一条已带出的回复之后继续展开
+                thread.setHasMoreReplies(true);
+                if (!shown.isEmpty()) {
+                    CommentThreadResponse last = shown.get(shown.size() - 1);
+                    thread.setRepliesCursor(CursorUtil.encodeTime(last.getCreatedAt(), last.getId()));
+                }
+            }
+        }
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResult<CommentThreadResponse> getCommentReplies(Long commentId, String cursor, int size) {
+        Comment parent = commentRepository.findById(commentId)
+                .filter(comment -> STATUS_APPROVED.equals(comment.getStatus()))
+                .orElseThrow(() -> new BusinessException(ErrorCode.COMMENT_NOT_FOUND));
+
+        CursorPageResult<CommentThreadResponse> page = findThreadPage(parent.getArticleId(), commentId, cursor, size);
+        fillReplyCounts(parent.getArticleId(), page.getContent());
+        return page;
+    }
+
+    /**
+     * 按 (createdAt, id) 游标分页查询同一父评论下的已审核评论（parentId 为空时为顶级评论）
+     */
+    private CursorPageResult<CommentThreadResponse> findThreadPage(Long articleId, Long parentId, String cursor, int size) {
+        CursorUtil.TimeCursor after = CursorUtil.decodeTime(cursor);
+        // 多查一条用于判断是否有下一页
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<Comment> comments = after == null
+                ? commentRepository.findThreadFirstPage(articleId, STATUS_APPROVED, parentId, limit)
+                : commentRepository.findThreadAfter(articleId, STATUS_APPROVED, parentId, after.createdAt(), after.id(), limit);
+
+        String nextCursor = null;
+        if (comments.size() > size) {
+            comments = comments.subList(0, size);
+            Comment last = comments.get(size - 1);
+            nextCursor = CursorUtil.encodeTime(last.getCreatedAt(), last.getId());
+        }
+
+        List<CommentThreadResponse> content = comments.stream()
+                .map(this::convertToThreadResponse)
                 .collect(Collectors.toList());
+        return CursorPageResult.of(content, size, nextCursor);
+    }
+
+    /**
+     * 批量填充直接回复数
+     */
+    private void fillReplyCounts(Long articleId, List<CommentThreadResponse> responses) {
+        if (responses.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = responses.stream()
+                .map(CommentThreadResponse::getId)
+                .collect(Collectors.toSet());
+        Map<Long, Long> counts = commentRepository.countReplies(articleId, STATUS_APPROVED, ids).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+        responses.forEach(response -> response.setReplyCount(counts.getOrDefault(response.getId(), 0L)));
     }
 
     @Override
@@ -85,6 +170,9 @@ public class CommentServiceImpl implements CommentService {
         comment.setStatus(STATUS_APPROVED); // 默认自动审核通过
 
         comment = commentRepository.save(comment);
+        if (STATUS_APPROVED.equals(comment.getStatus())) {
+            commentTreeCache.upsert(comment);
+        }
 
         // 更新文章评论数
         long commentCount = commentRepository.countByArticleIdAndStatusNot(article.getId(), STATUS_DELETED);
@@ -114,20 +202,32 @@ public class CommentServiceImpl implements CommentService {
             page = commentRepository.findAll(pageable);
         }
 
-        // 获取所有相关文章ID并批量查询文章标题
-        Set<Long> articleIds = page.getContent().stream()
-                .map(Comment::getArticleId)
-                .collect(Collectors.toSet());
-        Map<Long, String> articleTitleMap = articleRepository.findAllById(articleIds).stream()
-                .collect(Collectors.toMap(Article::getId, Article::getTitle));
-
-        List<AdminCommentResponse> content = page.getContent().stream()
-                .map(comment -> convertToAdminResponse(comment, articleTitleMap))
-                .collect(Collectors.toList());
+        List<AdminCommentResponse> content = convertToAdminResponses(page.getContent());
 
         return PageResult.of(content, page);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResult<AdminCommentResponse> getCommentsForAdminByCursor(String cursor, int size, Long articleId, Integer status) {
+        CursorUtil.TimeCursor after = CursorUtil.decodeTime(cursor);
+        // 多查一条用于判断是否有下一页
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<Comment> comments = after == null
+                ? commentRepository.findForAdminFirstPage(articleId, status, limit)
+                : commentRepository.findForAdminAfter(articleId, status, after.createdAt(), after.id(), limit);
+
+        String nextCursor = null;
+        if (comments.size() > size) {
+            comments = comments.subList(0, size);
+            Comment last = comments.get(size - 1);
+            nextCursor = CursorUtil.encodeTime(last.getCreatedAt(), last.getId());
+        }
+
+        return CursorPageResult.of(convertToAdminResponses(comments), size, nextCursor);
+    }
+
     @Override
     @Transactional
     public void deleteComment(Long id) {
@@ -146,6 +246,7 @@ public class CommentServiceImpl implements CommentService {
         comment.setStatus(STATUS_DELETED);
         comment.setDeletedAt(LocalDateTime.now());
         commentRepository.save(comment);
+        commentTreeCache.remove(comment.getArticleId(), id);
 
         // 更新文章评论数
         long commentCount = commentRepository.countByArticleIdAndStatusNot(comment.getArticleId(), STATUS_DELETED);
@@ -169,6 +270,7 @@ public class CommentServiceImpl implements CommentService {
 
         // 物理删除
         commentRepository.deleteAllById(allIds);
+        allIds.forEach(commentId -> commentTreeCache.remove(articleId, commentId));
 
         // 更新文章评论数
         long commentCount = commentRepository.countByArticleIdAndStatusNot(articleId, STATUS_DELETED);
@@ -193,6 +295,11 @@ public class CommentServiceImpl implements CommentService {
 
         comment.setStatus(status);
         commentRepository.save(comment);
+        if (STATUS_APPROVED.equals(status)) {
+            commentTreeCache.upsert(comment);
+        } else {
+            commentTreeCache.remove(comment.getArticleId(), id);
+        }
 
         // 更新文章评论数
         long commentCount = commentRepository.countByArticleIdAndStatusNot(comment.getArticleId(), STATUS_DELETED);
@@ -215,6 +322,7 @@ public class CommentServiceImpl implements CommentService {
         comment.setStatus(STATUS_APPROVED);
         comment.setDeletedAt(null);
         commentRepository.save(comment);
+        commentTreeCache.upsert(comment);
 
         // 更新文章评论数
         long commentCount = commentRepository.countByArticleIdAndStatusNot(comment.getArticleId(), STATUS_DELETED);
@@ -224,25 +332,10 @@ public class CommentServiceImpl implements CommentService {
     }
 
     /**
-     * 构建评论树
-     */
-    private CommentTreeResponse buildCommentTree(Comment comment, Map<Long, List<Comment>> childrenMap) {
-        CommentTreeResponse response = convertToResponse(comment);
-
-        // 获取子评论
-        List<Comment> children = childrenMap.getOrDefault(comment.getId(), Collections.emptyList());
-        response.setChildren(children.stream()
-                .map(child -> buildCommentTree(child, childrenMap))
-                .collect(Collectors.toList()));
-
-        return response;
-    }
-
-    /**
-     * 转换为响应DTO
+     * 转换为评论线程响应DTO
      */
-    private CommentTreeResponse convertToResponse(Comment comment) {
-        CommentTreeResponse response = new CommentTreeResponse();
+    private CommentThreadResponse convertToThreadResponse(Comment comment) {
+        CommentThreadResponse response = new CommentThreadResponse();
         response.setId(comment.getId());
         response.setArticleId(comment.getArticleId());
         response.setParentId(comment.getParentId());
@@ -256,6 +349,21 @@ public class CommentServiceImpl implements CommentService {
         return response;
     }
 
+    /**
+     * 批量转换为管理后台响应DTO（批量查询文章标题）
+     */
+    private List<AdminCommentResponse> convertToAdminResponses(List<Comment> comments) {
+        Set<Long> articleIds = comments.stream()
+                .map(Comment::getArticleId)
+                .collect(Collectors.toSet());
+        Map<Long, String> articleTitleMap = articleRepository.findAllById(articleIds).stream()
+                .collect(Collectors.toMap(Article::getId, Article::getTitle));
+
+        return comments.stream()
+                .map(comment -> convertToAdminResponse(comment, articleTitleMap))
+                .collect(Collectors.toList());
+    }
+
     /**
      * 转换为管理后台响应DTO
      */
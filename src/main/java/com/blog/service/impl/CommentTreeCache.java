@@ -0,0 +1,274 @@
+package com.blog.service.impl;
+
+import com.blog.common.enums.CommentStatus;
+import com.blog.model.dto.comment.CommentTreeResponse;
+import com.blog.model.entity.Comment;
+import com.blog.repository.CommentRepository;
+import com.blog.util.TransactionUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 文章评论树缓存（读模型）
+ * 以文章ID为键缓存已审核评论组成的树，以及序列化好的 JSON，读取时直接输出，不查询数据库也不重新组装树。
+ * 发表、审核、删除、恢复评论在事务提交后增量更新树（按评论ID插入或移除，操作幂等），随后重新生成 JSON；
+ * 其他节点通过 Redis 频道收到通知后丢弃该文章的缓存，下次读取时从数据库重新加载。
+ * 父评论未审核或已删除时，其下的子评论保留在树中但不输出，父评论恢复后随之恢复显示。
+ */
+@Slf4j
+@Component
+public class CommentTreeCache {
+
+    private static final String CHANNEL = "comment:tree:invalidation";
+
+    private static final int MAXIMUM_SIZE = 500;
+
+    private static final Integer STATUS_APPROVED = CommentStatus.APPROVED.getValue();
+
+    private static final Comparator<CommentTreeResponse> ORDER = Comparator
+            .comparing(CommentTreeResponse::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(CommentTreeResponse::getId);
+
+    private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Cache<Long, ArticleCommentTree> cache = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterAccess(Duration.ofHours(6))
+            .recordStats()
+            .build();
+
+    /**
+     * 同一文章并发未命中时只加载一次
+     */
+    private final ConcurrentMap<Long, CompletableFuture<ArticleCommentTree>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 变更计数：加载期间发生过变更时不保留加载结果，避免把事务提交前读到的旧数据留在缓存中
+     */
+    private final AtomicLong modifications = new AtomicLong();
+
+    private final Counter loadCounter;
+
+    public CommentTreeCache(CommentRepository commentRepository, ObjectMapper objectMapper,
+                            StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+                            MeterRegistry meterRegistry) {
+        this.commentRepository = commentRepository;
+        this.objectMapper = objectMapper;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "comment.tree");
+        this.loadCounter = Counter.builder("blog.comment.tree.load")
+                .description("从数据库加载文章评论树的次数")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separator = body.lastIndexOf(':');
+            if (separator > 0 && !body.substring(0, separator).equals(instanceId)) {
+                modifications.incrementAndGet();
+                cache.invalidate(Long.valueOf(body.substring(separator + 1)));
+            }
+        }, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 获取文章评论树的 JSON（顶级评论数组，子评论嵌套在 children 中）
+     */
+    public RawValue getJson(Long articleId) {
+        ArticleCommentTree tree = cache.getIfPresent(articleId);
+        return new RawValue((tree != null ? tree : load(articleId)).json);
+    }
+
+    /**
+     * 评论已审核通过（新发表、审核通过或恢复），事务提交后加入评论树
+     */
+    public void upsert(Comment comment) {
+        CommentTreeResponse node = toNode(comment);
+        TransactionUtil.afterCommit(() -> modify(comment.getArticleId(), tree -> tree.upsert(node)));
+    }
+
+    /**
+     * 评论不再显示（删除或改为非已审核状态），事务提交后从评论树移除
+     */
+    public void remove(Long articleId, Long commentId) {
+        TransactionUtil.afterCommit(() -> modify(articleId, tree -> tree.remove(commentId)));
+    }
+
+    /**
+     * 丢弃文章的评论树（如文章被删除），事务提交后执行
+     */
+    public void invalidate(Long articleId) {
+        TransactionUtil.afterCommit(() -> modify(articleId, null));
+    }
+
+    private void modify(Long articleId, Consumer<ArticleCommentTree> change) {
+        modifications.incrementAndGet();
+        ArticleCommentTree tree = cache.getIfPresent(articleId);
+        if (tree != null) {
+            if (change == null) {
+                cache.invalidate(articleId);
+            } else {
+                try {
+                    tree.apply(change);
+                } catch (RuntimeException e) {
+                    cache.invalidate(articleId);
+                    log.error("增量更新评论树失败，已丢弃缓存: articleId={}", articleId, e);
+                }
+            }
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL, instanceId + ":" + articleId);
+        } catch (Exception e) {
+            log.warn("发送评论树失效通知失败: articleId={}", articleId, e);
+        }
+    }
+
+    private ArticleCommentTree load(Long articleId) {
+        CompletableFuture<ArticleCommentTree> future = new CompletableFuture<>();
+        CompletableFuture<ArticleCommentTree> running = loading.putIfAbsent(articleId, future);
+        if (running != null) {
+            return running.join();
+        }
+
+        try {
+            long seen = modifications.get();
+            loadCounter.increment();
+            List<Comment> comments = commentRepository.findByArticleIdAndStatusOrderByCreatedAtAsc(articleId, STATUS_APPROVED);
+            ArticleCommentTree tree = new ArticleCommentTree();
+            tree.apply(t -> comments.forEach(comment -> t.upsert(toNode(comment))));
+            cache.put(articleId, tree);
+            // 先放入缓存再检查：加载期间有变更（可能未包含在读到的数据中）时丢弃，之后的变更都会直接作用在缓存的树上
+            if (modifications.get() != seen) {
+                cache.asMap().remove(articleId, tree);
+            }
+            future.complete(tree);
+            return tree;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(articleId, future);
+        }
+    }
+
+    private static CommentTreeResponse toNode(Comment comment) {
+        CommentTreeResponse node = new CommentTreeResponse();
+        node.setId(comment.getId());
+        node.setArticleId(comment.getArticleId());
+        node.setParentId(comment.getParentId());
+        node.setNickname(comment.getNickname());
+        node.setEmail(comment.getEmail());
+        node.setWebsite(comment.getWebsite());
+        node.setAvatar(comment.getAvatar());
+        node.setContent(comment.getContent());
+        node.setStatus(comment.getStatus());
+        node.setCreatedAt(comment.getCreatedAt() != null ? comment.getCreatedAt() : LocalDateTime.now());
+        return node;
+    }
+
+    /**
+     * 单篇文章的评论树
+     * 修改在锁内进行并在修改后重新生成 JSON；读取只访问 volatile 的 JSON，不加锁
+     */
+    private class ArticleCommentTree {
+        private final Map<Long, CommentTreeResponse> nodes = new HashMap<>();
+        private final List<CommentTreeResponse> roots = new ArrayList<>();
+        /**
+         * 父评论不在树中的已审核评论（按父评论ID分组），父评论加入时挂回
+         */
+        private final Map<Long, List<CommentTreeResponse>> detached = new HashMap<>();
+        private final Lock lock = new ReentrantLock();
+
+        private volatile String json;
+
+        void apply(Consumer<ArticleCommentTree> change) {
+            lock.lock();
+            try {
+                change.accept(this);
+                json = objectMapper.writeValueAsString(roots);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("序列化评论树失败", e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void upsert(CommentTreeResponse node) {
+            // 已存在时先移除（其子评论暂存到 detached，随后挂到新节点下）
+            remove(node.getId());
+            nodes.put(node.getId(), node);
+            insert(container(node), node);
+
+            List<CommentTreeResponse> children = detached.remove(node.getId());
+            if (children != null) {
+                children.forEach(child -> insert(node.getChildren(), child));
+            }
+        }
+
+        void remove(Long commentId) {
+            CommentTreeResponse node = nodes.remove(commentId);
+            if (node == null) {
+                return;
+            }
+            List<CommentTreeResponse> container = container(node);
+            container.removeIf(n -> n == node);
+            if (container.isEmpty() && node.getParentId() != null) {
+                detached.remove(node.getParentId(), container);
+            }
+            if (!node.getChildren().isEmpty()) {
+                detached.put(commentId, node.getChildren());
+                node.setChildren(new ArrayList<>());
+            }
+        }
+
+        private List<CommentTreeResponse> container(CommentTreeResponse node) {
+            if (node.getParentId() == null) {
+                return roots;
+            }
+            CommentTreeResponse parent = nodes.get(node.getParentId());
+            return parent != null
+                    ? parent.getChildren()
+                    : detached.computeIfAbsent(node.getParentId(), k -> new ArrayList<>());
+        }
+
+        /**
+         * 按创建时间有序插入（新评论通常在末尾）
+         */
+        private void insert(List<CommentTreeResponse> list, CommentTreeResponse node) {
+            int index = Collections.binarySearch(list, node, ORDER);
+            list.add(index < 0 ? -index - 1 : index, node);
+        }
+    }
+}
@@ -33,7 +33,7 @@ public class ConfigServiceImpl implements ConfigService {
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @Override
-    @Cacheable(value = "config", key = "'public'")
+    @Cacheable(value = "config", key = "'public'", sync = true)
     @Transactional(readOnly = true)
     public Map<String, String> getPublicConfig() {
         List<SiteConfig> configs = siteConfigRepository.findByIsPublic(1);
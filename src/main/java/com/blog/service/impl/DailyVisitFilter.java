@@ -0,0 +1,227 @@
+package com.blog.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * 当日访问去重过滤器
+ * 以 (访客, 文章) 的64位哈希为键，在内存中回答"今天是否已记录过"，替代每次访问的数据库查询。
+ * 按日期轮换（零点主动清空，跨日的访问也会触发轮换），启动时从当天的访问记录重建。
+ * 哈希碰撞（概率约 n²/2^65）会把极少量新访问误判为已访问；未命中时仍由唯一键 uk_visitor_article_date 兜底。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DailyVisitFilter {
+
+    /**
+     * 分段数（按哈希分段加锁，降低并发竞争）
+     */
+    private static final int STRIPES = 16;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Day current = new Day(LocalDate.now());
+
+    /**
+     * 标记访问；返回true表示今天首次出现，需要写入
+     */
+    public boolean markIfAbsent(String visitorId, Long articleId, LocalDate visitDate) {
+        return day(visitDate).add(hash(visitorId, articleId));
+    }
+
+    /**
+     * 撤销标记（访问事件未能写入时调用，允许之后重新记录）
+     */
+    public void unmark(String visitorId, Long articleId, LocalDate visitDate) {
+        Day day = current;
+        if (day.date.equals(visitDate)) {
+            day.remove(hash(visitorId, articleId));
+        }
+    }
+
+    /**
+     * 零点轮换
+     */
+    @Scheduled(cron = "0 0 0 * * ?")
+    public void rotate() {
+        day(LocalDate.now());
+    }
+
+    /**
+     * 启动后在后台从当天的访问记录重建（重建完成前未命中的访问由唯一键去重）
+     */
+    @Async("maintenanceExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("重建当日访问过滤器失败", e);
+        }
+    }
+
+    void rebuild() {
+        LocalDate today = LocalDate.now();
+        Day day = day(today);
+        int[] count = {0};
+        jdbcTemplate.query("SELECT visitor_id, article_id FROM tb_visit_logs WHERE visit_date = ?",
+                rs -> {
+                    long articleId = rs.getLong(2);
+                    day.add(hash(rs.getString(1), rs.wasNull() ? null : articleId));
+                    count[0]++;
+                },
+                Date.valueOf(today));
+        log.info("当日访问过滤器已重建: {}条", count[0]);
+    }
+
+    private Day day(LocalDate date) {
+        Day day = current;
+        if (day.date.equals(date)) {
+            return day;
+        }
+        synchronized (this) {
+            day = current;
+            if (!day.date.equals(date)) {
+                // 只向前轮换；跨零点时迟到的旧日期事件交给唯一键去重
+                if (date.isBefore(day.date)) {
+                    return new Day(date);
+                }
+                day = new Day(date);
+                current = day;
+                log.info("当日访问过滤器已轮换: {}", date);
+            }
+            return day;
+        }
+    }
+
+    /**
+     * 访客ID与文章ID的64位哈希（FNV-1a + murmur3 fmix64）
+     */
+    static long hash(String visitorId, Long articleId) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : visitorId.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= articleId == null ? 0 : articleId;
+        h *= 0x100000001b3L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 一天的过滤器（分段的紧凑long集合）
+     */
+    private static class Day {
+        final LocalDate date;
+        final LongHashSet[] stripes = new LongHashSet[STRIPES];
+
+        Day(LocalDate date) {
+            this.date = date;
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new LongHashSet();
+            }
+        }
+
+        boolean add(long key) {
+            LongHashSet stripe = stripes[(int) (key >>> 60) & (STRIPES - 1)];
+            synchronized (stripe) {
+                return stripe.add(key);
+            }
+        }
+
+        void remove(long key) {
+            LongHashSet stripe = stripes[(int) (key >>> 60) & (STRIPES - 1)];
+            synchronized (stripe) {
+                stripe.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 开放寻址的long集合（线性探测，删除时后移，无装箱）；0作为空槽标记，键0单独记录
+     */
+    private static class LongHashSet {
+        private long[] table = new long[64];
+        private int size;
+        private boolean containsZero;
+
+        boolean add(long key) {
+            if (key == 0) {
+                boolean added = !containsZero;
+                containsZero = true;
+                return added;
+            }
+            int mask = table.length - 1;
+            int i = (int) key & mask;
+            while (table[i] != 0) {
+                if (table[i] == key) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = key;
+            if (++size * 2 > table.length) {
+                resize();
+            }
+            return true;
+        }
+
+        void remove(long key) {
+            if (key == 0) {
+                containsZero = false;
+                return;
+            }
+            int mask = table.length - 1;
+            int i = (int) key & mask;
+            while (table[i] != key) {
+                if (table[i] == 0) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            // 后移删除：把后续同簇的元素移回空位，保证探测链不断
+            int gap = i;
+            int j = i;
+            while (true) {
+                j = (j + 1) & mask;
+                if (table[j] == 0) {
+                    break;
+                }
+                int home = (int) table[j] & mask;
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    table[gap] = table[j];
+                    gap = j;
+                }
+            }
+            table[gap] = 0;
+            size--;
+        }
+
+        private void resize() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            size = 0;
+            for (long key : old) {
+                if (key != 0) {
+                    add(key);
+                }
+            }
+        }
+    }
+}
@@ -3,11 +3,22 @@ package com.blog.service.impl;
 import com.blog.common.enums.ErrorCode;
 import com.blog.config.properties.BlogProperties;
 import com.blog.exception.BusinessException;
+import com.blog.model.dto.markdown.MarkdownRenderResult;
+import com.blog.search.CjkBigramTokenizer;
 import com.blog.service.MarkdownService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Block;
+import org.commonmark.node.Code;
+import org.commonmark.node.FencedCodeBlock;
+import org.commonmark.node.HardLineBreak;
 import org.commonmark.node.Heading;
+import org.commonmark.node.IndentedCodeBlock;
 import org.commonmark.node.Node;
+import org.commonmark.node.Paragraph;
+import org.commonmark.node.SoftLineBreak;
+import org.commonmark.node.Text;
 import org.commonmark.parser.Parser;
 import org.commonmark.renderer.html.HtmlRenderer;
 import org.springframework.stereotype.Service;
@@ -18,7 +29,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -31,44 +45,105 @@ public class MarkdownServiceImpl implements MarkdownService {
 
     private final BlogProperties blogProperties;
     private final Parser parser = Parser.builder().build();
-    private final HtmlRenderer renderer = HtmlRenderer.builder().build();
+
+    /**
+     * 每分钟阅读的中日韩字符数 / 其他语言单词数
+     */
+    private static final int CJK_CHARS_PER_MINUTE = 400;
+    private static final int WORDS_PER_MINUTE = 200;
 
     @Override
-    public String markdownToHtml(String markdown) {
+    public MarkdownRenderResult render(String markdown) {
         if (markdown == null || markdown.isEmpty()) {
-            return "";
+            return new MarkdownRenderResult();
         }
+
         Node document = parser.parse(markdown);
-        return renderer.render(document);
+
+        // 一次遍历：收集全部标题（含引用、列表内的嵌套标题）并统计字数
+        RenderVisitor visitor = new RenderVisitor();
+        document.accept(visitor);
+
+        // 渲染时将锚点注入标题，保证与目录一致
+        Map<Node, String> anchors = visitor.anchors;
+        HtmlRenderer renderer = HtmlRenderer.builder()
+                .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                    String anchor = anchors.get(node);
+                    if (anchor != null) {
+                        attributes.put("id", anchor);
+                    }
+                })
+                .build();
+
+        MarkdownRenderResult result = new MarkdownRenderResult();
+        result.setHtml(renderer.render(document));
+        result.setHeadings(visitor.headings);
+        result.setToc(buildTocHtml(visitor.headings));
+        result.setWordCount(visitor.cjkChars + visitor.words);
+        result.setReadingTime(calculateReadingTime(visitor.cjkChars, visitor.words));
+        return result;
+    }
+
+    @Override
+    public String markdownToHtml(String markdown) {
+        return render(markdown).getHtml();
     }
 
     @Override
     public String generateToc(String markdown) {
+        return render(markdown).getToc();
+    }
+
+    @Override
+    public String toPlainText(String markdown) {
         if (markdown == null || markdown.isEmpty()) {
             return "";
         }
+        StringBuilder sb = new StringBuilder(markdown.length());
+        parser.parse(markdown).accept(new AbstractVisitor() {
+            @Override
+            public void visit(Text text) {
+                sb.append(text.getLiteral());
+            }
 
-        Node document = parser.parse(markdown);
-        List<TocItem> tocItems = new ArrayList<>();
-
-        // 遍历文档节点，提取标题
-        Node node = document.getFirstChild();
-        while (node != null) {
-            if (node instanceof Heading) {
-                Heading heading = (Heading) node;
-                int level = heading.getLevel();
-                // 只提取H1-H3
-                if (level >= 1 && level <= 3) {
-                    String text = extractText(heading);
-                    String anchor = generateAnchor(text);
-                    tocItems.add(new TocItem(level, text, anchor));
-                }
+            @Override
+            public void visit(Code code) {
+                sb.append(code.getLiteral());
+            }
+
+            @Override
+            public void visit(FencedCodeBlock codeBlock) {
+                sb.append(codeBlock.getLiteral()).append('\n');
+            }
+
+            @Override
+            public void visit(IndentedCodeBlock codeBlock) {
+                sb.append(codeBlock.getLiteral()).append('\n');
             }
-            node = node.getNext();
-        }
 
-        // 生成TOC HTML
-        return buildTocHtml(tocItems);
+            @Override
+            public void visit(SoftLineBreak softLineBreak) {
+                sb.append(' ');
+            }
+
+            @Override
+            public void visit(HardLineBreak hardLineBreak) {
+                sb.append('\n');
+            }
+
+            @Override
+            public void visit(Paragraph paragraph) {
+                visitChildren(paragraph);
+                sb.append('\n');
+            }
+
+            @Override
+            public void visit(Heading heading) {
+                visitChildren(heading);
+                sb.append('\n');
+            }
+        });
+        return sb.toString().trim();
     }
 
     @Override
@@ -187,68 +262,176 @@ public class MarkdownServiceImpl implements MarkdownService {
     }
 
     /**
-     * 提取标题文本
+     * 构建TOC HTML（只包含H1-H3）
      */
-    private String extractText(Node node) {
+    private String buildTocHtml(List<MarkdownRenderResult.HeadingAnchor> headings) {
         StringBuilder sb = new StringBuilder();
-        Node child = node.getFirstChild();
-        while (child != null) {
-            if (child instanceof org.commonmark.node.Text) {
-                sb.append(((org.commonmark.node.Text) child).getLiteral());
+
+        for (MarkdownRenderResult.HeadingAnchor item : headings) {
+            if (item.getLevel() > 3) {
+                continue;
             }
-            child = child.getNext();
+            String indent = "  ".repeat(item.getLevel() - 1);
+            sb.append(indent)
+                    .append("<li class=\"toc-level-").append(item.getLevel()).append("\">")
+                    .append("<a href=\"#").append(item.getAnchor()).append("\">")
+                    .append(escapeHtml(item.getText()))
+                    .append("</a></li>\n");
         }
-        return sb.toString();
+
+        if (sb.length() == 0) {
+            return "";
+        }
+        return "<nav class=\"toc\">\n<ul>\n" + sb + "</ul>\n</nav>";
     }
 
     /**
-     * 生成锚点ID
+     * 计算阅读时长（分钟，有内容时至少1分钟）
      */
-    private String generateAnchor(String text) {
-        return "heading-" + text.toLowerCase()
-                .replaceAll("[^a-z0-9\\u4e00-\\u9fa5]+", "-")
-                .replaceAll("^-|-$", "");
+    private int calculateReadingTime(int cjkChars, int words) {
+        if (cjkChars == 0 && words == 0) {
+            return 0;
+        }
+        double minutes = (double) cjkChars / CJK_CHARS_PER_MINUTE + (double) words / WORDS_PER_MINUTE;
+        return Math.max(1, (int) Math.ceil(minutes));
     }
 
     /**
-     * 构建TOC HTML
+     * 生成锚点ID：小写字母、数字和汉字保留，其余连续字符合并为一个"-"
      */
-    private String buildTocHtml(List<TocItem> items) {
-        if (items.isEmpty()) {
-            return "";
+    static String generateAnchor(String text) {
+        StringBuilder sb = new StringBuilder("heading-");
+        int prefixLength = sb.length();
+        boolean pendingDash = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            boolean keep = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || (c >= '\u4e00' && c <= '\u9fa5');
+            if (keep) {
+                if (pendingDash && sb.length() > prefixLength) {
+                    sb.append('-');
+                }
+                sb.append(c);
+                pendingDash = false;
+            } else {
+                pendingDash = true;
+            }
         }
+        return sb.toString();
+    }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("<nav class=\"toc\">\n");
-        sb.append("<ul>\n");
-
-        for (TocItem item : items) {
-            String indent = "  ".repeat(item.level - 1);
-            sb.append(indent)
-                    .append("<li class=\"toc-level-").append(item.level).append("\">")
-                    .append("<a href=\"#").append(item.anchor).append("\">")
-                    .append(item.text)
-                    .append("</a></li>\n");
+    private static String escapeHtml(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '&' -> sb.append("&amp;");
+                case '"' -> sb.append("&quot;");
+                default -> sb.append(c);
+            }
         }
-
-        sb.append("</ul>\n");
-        sb.append("</nav>");
-
         return sb.toString();
     }
 
     /**
-     * TOC项
+     * 单次遍历AST：收集标题锚点、统计字数
      */
-    private static class TocItem {
-        int level;
-        String text;
-        String anchor;
-
-        TocItem(int level, String text, String anchor) {
-            this.level = level;
-            this.text = text;
-            this.anchor = anchor;
+    private static class RenderVisitor extends AbstractVisitor {
+        final List<MarkdownRenderResult.HeadingAnchor> headings = new ArrayList<>();
+        final Map<Node, String> anchors = new IdentityHashMap<>();
+        final Map<String, Integer> anchorCounts = new HashMap<>();
+        int cjkChars;
+        int words;
+
+        /**
+         * 当前所在标题的文本缓冲（不在标题内时为null）
+         */
+        private StringBuilder headingText;
+
+        /**
+         * 单词状态跨相邻行内节点保留（强调、链接等会把一个单词拆成多个 Text 节点）
+         */
+        private boolean inWord;
+        private Block lastBlock;
+
+        @Override
+        public void visit(Heading heading) {
+            headingText = new StringBuilder();
+            visitChildren(heading);
+            String text = headingText.toString().trim();
+            headingText = null;
+
+            String anchor = uniqueAnchor(generateAnchor(text));
+            anchors.put(heading, anchor);
+            headings.add(new MarkdownRenderResult.HeadingAnchor(heading.getLevel(), text, anchor));
+        }
+
+        @Override
+        public void visit(Text text) {
+            collect(text, text.getLiteral());
+        }
+
+        @Override
+        public void visit(Code code) {
+            collect(code, code.getLiteral());
+        }
+
+        @Override
+        public void visit(SoftLineBreak softLineBreak) {
+            inWord = false;
+        }
+
+        @Override
+        public void visit(HardLineBreak hardLineBreak) {
+            inWord = false;
+        }
+
+        private void collect(Node node, String literal) {
+            if (headingText != null) {
+                headingText.append(literal);
+            }
+            // 同一块内相邻的行内节点（如 foo**bar**）属于同一个单词，换块时才断开
+            Block block = enclosingBlock(node);
+            if (block != lastBlock) {
+                lastBlock = block;
+                inWord = false;
+            }
+            countWords(literal);
+        }
+
+        private static Block enclosingBlock(Node node) {
+            Node parent = node.getParent();
+            while (parent != null && !(parent instanceof Block)) {
+                parent = parent.getParent();
+            }
+            return (Block) parent;
+        }
+
+        /**
+         * 重复标题追加序号，保证锚点唯一
+         */
+        private String uniqueAnchor(String base) {
+            int count = anchorCounts.merge(base, 1, Integer::sum);
+            return count == 1 ? base : base + "-" + (count - 1);
+        }
+
+        private void countWords(String literal) {
+            for (int i = 0; i < literal.length(); ) {
+                int cp = literal.codePointAt(i);
+                if (CjkBigramTokenizer.isCjk(cp)) {
+                    cjkChars++;
+                    inWord = false;
+                } else if (Character.isLetterOrDigit(cp)) {
+                    if (!inWord) {
+                        words++;
+                        inWord = true;
+                    }
+                } else {
+                    inWord = false;
+                }
+                i += Character.charCount(cp);
+            }
         }
     }
 }
@@ -2,8 +2,10 @@ package com.blog.service.impl;
 
 import com.blog.common.enums.ErrorCode;
 import com.blog.common.enums.MessageStatus;
+import com.blog.common.response.CursorPageResult;
 import com.blog.common.response.PageResult;
 import com.blog.exception.BusinessException;
+import com.blog.util.CursorUtil;
 import com.blog.util.HtmlSanitizer;
 import com.blog.model.dto.message.MessageCreateRequest;
 import com.blog.model.dto.message.MessageResponse;
@@ -12,7 +14,10 @@ import com.blog.repository.MessageRepository;
 import com.blog.service.MessageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -48,6 +53,32 @@ public class MessageServiceImpl implements MessageService {
 
     @Override
     @Transactional(readOnly = true)
+    public CursorPageResult<MessageResponse> getMessageListByCursor(String cursor, int size) {
+        CursorUtil.TimeCursor after = CursorUtil.decodeTime(cursor);
+        // 多查一条用于判断是否有下一页
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<Message> messages = after == null
+                ? messageRepository.findByStatusOrderByCreatedAtDescIdDesc(STATUS_VISIBLE, limit)
+                : messageRepository.findByStatusAfter(STATUS_VISIBLE, after.createdAt(), after.id(), limit);
+
+        String nextCursor = null;
+        if (messages.size() > size) {
+            messages = messages.subList(0, size);
+            Message last = messages.get(size - 1);
+            nextCursor = CursorUtil.encodeTime(last.getCreatedAt(), last.getId());
+        }
+
+        List<MessageResponse> content = messages.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+
+        return CursorPageResult.of(content, size, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "friend-links", key = "'all'", sync = true)
     public List<MessageResponse> getFriendLinks() {
         List<Message> messages = messageRepository.findByStatusAndIsFriendLinkOrderByCreatedAtDesc(STATUS_VISIBLE, 1);
         return messages.stream()
@@ -89,6 +120,7 @@ public class MessageServiceImpl implements MessageService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "friend-links", key = "'all'")
     public void deleteMessage(Long id) {
         Message message = messageRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND));
@@ -104,6 +136,7 @@ public class MessageServiceImpl implements MessageService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "friend-links", key = "'all'")
     public void permanentlyDeleteMessage(Long id) {
         if (!messageRepository.existsById(id)) {
             throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND);
@@ -132,6 +165,7 @@ public class MessageServiceImpl implements MessageService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "friend-links", key = "'all'")
     public void toggleFriendLink(Long id) {
         Message message = messageRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND));
@@ -0,0 +1,221 @@
+package com.blog.service.impl;
+
+import com.blog.config.properties.BlogProperties;
+import com.blog.model.dto.markdown.MarkdownRenderResult;
+import com.blog.service.MarkdownService;
+import com.blog.util.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * 文章渲染结果缓存
+ * 以文章ID为键，缓存Markdown原文和渲染结果（HTML、目录、字数等），并记录文件修改时间和内容哈希。
+ * 命中且在复核间隔内时不访问文件系统；超过复核间隔只检查一次文件属性，
+ * 文件变化但内容哈希相同时不重新解析。
+ * 未命中时优先读取写入时生成的渲染产物（见 {@link RenderedArtifactStore}，按内容哈希校验），产物缺失或过期才实时渲染并回填。
+ */
+@Slf4j
+@Component
+public class RenderedArticleCache {
+
+    /**
+     * 缓存条目的文件复核间隔（防止文件被外部修改后长期不生效）
+     */
+    private static final long REVALIDATE_INTERVAL_MILLIS = Duration.ofSeconds(30).toMillis();
+
+    private static final int MAXIMUM_SIZE = 500;
+
+    private final MarkdownService markdownService;
+    private final BlogProperties blogProperties;
+    private final RenderedArtifactStore artifactStore;
+
+    private final Cache<Long, RenderedArticle> cache = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterAccess(Duration.ofHours(6))
+            .recordStats()
+            .build();
+
+    private final Counter renderCounter;
+    private final Counter revalidateCounter;
+    private final Counter artifactHitCounter;
+
+    public RenderedArticleCache(MarkdownService markdownService, BlogProperties blogProperties,
+                                RenderedArtifactStore artifactStore, MeterRegistry meterRegistry) {
+        this.markdownService = markdownService;
+        this.blogProperties = blogProperties;
+        this.artifactStore = artifactStore;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "article.rendered");
+        this.renderCounter = Counter.builder("blog.article.render")
+                .description("文章Markdown实际解析渲染次数")
+                .register(meterRegistry);
+        this.revalidateCounter = Counter.builder("blog.article.render.revalidate")
+                .description("文章渲染缓存文件复核次数")
+                .register(meterRegistry);
+        this.artifactHitCounter = Counter.builder("blog.article.render.artifact")
+                .description("直接使用已保存渲染产物的次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取文章渲染结果（未命中或文件已变化时重新读取并渲染）
+     */
+    public RenderedArticle get(Long articleId, String contentPath) {
+        long now = System.currentTimeMillis();
+        RenderedArticle cached = cache.getIfPresent(articleId);
+
+        if (cached != null && Objects.equals(cached.getContentPath(), contentPath)) {
+            if (now - cached.getCheckedAt() < REVALIDATE_INTERVAL_MILLIS) {
+                return cached;
+            }
+
+            // 超过复核间隔：只比较文件属性，未变化则延长有效期
+            revalidateCounter.increment();
+            FileStamp stamp = stat(contentPath);
+            if (stamp.lastModified() == cached.getLastModified() && stamp.size() == cached.getSize()) {
+                RenderedArticle refreshed = cached.withCheckedAt(now);
+                cache.put(articleId, refreshed);
+                return refreshed;
+            }
+        }
+
+        RenderedArticle loaded = load(contentPath, cached, now);
+        cache.put(articleId, loaded);
+        return loaded;
+    }
+
+    /**
+     * 发布文章内容：Markdown已保存后立即渲染并写入渲染产物，同时使缓存失效
+     */
+    public void publish(Long articleId, String contentPath, String markdown) {
+        renderCounter.increment();
+        artifactStore.write(contentPath, sha256(markdown), markdownService.render(markdown));
+        invalidate(articleId);
+    }
+
+    /**
+     * 删除文章渲染产物并使缓存失效
+     */
+    public void remove(Long articleId, String contentPath) {
+        artifactStore.delete(contentPath);
+        invalidate(articleId);
+    }
+
+    /**
+     * 使文章缓存失效（在当前事务提交后执行）
+     */
+    public void invalidate(Long articleId) {
+        TransactionUtil.afterCommit(() -> {
+            cache.invalidate(articleId);
+            log.debug("文章渲染缓存已失效: articleId={}", articleId);
+        });
+    }
+
+    /**
+     * 读取文件并渲染：内容哈希与旧条目一致时复用旧的渲染结果；其次使用内容哈希一致的渲染产物；
+     * 实时渲染后回填渲染产物
+     */
+    private RenderedArticle load(String contentPath, RenderedArticle previous, long now) {
+        FileStamp stamp = stat(contentPath);
+        String markdown = markdownService.readMarkdownFile(contentPath);
+        String contentHash = sha256(markdown);
+
+        if (previous != null && previous.getContentHash().equals(contentHash)) {
+            return new RenderedArticle(contentPath, stamp.lastModified(), stamp.size(), contentHash,
+                    previous.getMarkdown(), previous.getResult(), now);
+        }
+
+        if (stamp != FileStamp.MISSING) {
+            // 以内容哈希确认产物未过期（修改时间和大小相同的编辑也能识别）
+            RenderedArtifactStore.Artifact artifact = artifactStore.read(contentPath, contentHash);
+            if (artifact != null) {
+                artifactHitCounter.increment();
+                return new RenderedArticle(contentPath, stamp.lastModified(), stamp.size(), contentHash,
+                        markdown, artifact.toRenderResult(), now);
+            }
+        }
+
+        renderCounter.increment();
+        MarkdownRenderResult result = markdownService.render(markdown);
+        if (stamp != FileStamp.MISSING) {
+            artifactStore.write(contentPath, contentHash, result);
+        }
+        return new RenderedArticle(contentPath, stamp.lastModified(), stamp.size(), contentHash,
+                markdown, result, now);
+    }
+
+    private FileStamp stat(String contentPath) {
+        if (contentPath == null || contentPath.isEmpty()) {
+            return FileStamp.MISSING;
+        }
+        try {
+            Path path = Paths.get(blogProperties.getData().getPath(), contentPath);
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileStamp(attributes.lastModifiedTime().toMillis(), attributes.size());
+        } catch (NoSuchFileException e) {
+            return FileStamp.MISSING;
+        } catch (IOException e) {
+            log.warn("读取文章文件属性失败: {}", contentPath, e);
+            return FileStamp.MISSING;
+        }
+    }
+
+    private static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record FileStamp(long lastModified, long size) {
+        static final FileStamp MISSING = new FileStamp(-1L, -1L);
+    }
+
+    /**
+     * 文章渲染结果
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class RenderedArticle {
+        private final String contentPath;
+        private final long lastModified;
+        private final long size;
+        private final String contentHash;
+        private final String markdown;
+        private final MarkdownRenderResult result;
+        private final long checkedAt;
+
+        public String getHtml() {
+            return result.getHtml();
+        }
+
+        public String getToc() {
+            return result.getToc();
+        }
+
+        RenderedArticle withCheckedAt(long checkedAt) {
+            return new RenderedArticle(contentPath, lastModified, size, contentHash, markdown, result, checkedAt);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.blog.service.impl;
+
+import com.blog.config.properties.BlogProperties;
+import com.blog.model.dto.markdown.MarkdownRenderResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 文章渲染产物存储
+ * 在Markdown源文件旁保存编译后的HTML（{id}.html.gz）和元数据（{id}.meta.json，含目录、字数及源文件指纹），
+ * 读取时只以产物版本和源文件内容哈希判断是否过期（修改时间和大小在同尺寸快速编辑时可能不变，不参与判断，仅记录在元数据中便于排查）。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RenderedArtifactStore {
+
+    /**
+     * 产物格式版本（渲染规则变化时递增，旧产物自动失效）
+     * 2：字数统计规则调整（相邻行内节点按同一单词计）
+     */
+    private static final int ARTIFACT_VERSION = 2;
+
+    private static final String MARKDOWN_SUFFIX = ".md";
+    private static final String HTML_SUFFIX = ".html.gz";
+    private static final String META_SUFFIX = ".meta.json";
+
+    private final BlogProperties blogProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 读取渲染产物；不存在、已过期（源文件内容哈希不一致）或损坏时返回null
+     */
+    public Artifact read(String contentPath, String sourceHash) {
+        Path htmlPath = resolve(contentPath, HTML_SUFFIX);
+        Path metaPath = resolve(contentPath, META_SUFFIX);
+        if (htmlPath == null) {
+            return null;
+        }
+
+        try {
+            ArtifactMeta meta = objectMapper.readValue(metaPath.toFile(), ArtifactMeta.class);
+            if (meta.getVersion() != ARTIFACT_VERSION || !sourceHash.equals(meta.getSourceHash())) {
+                return null;
+            }
+
+            String html;
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(htmlPath))) {
+                html = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            return new Artifact(html, meta);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("读取文章渲染产物失败: {}", contentPath, e);
+            return null;
+        }
+    }
+
+    /**
+     * 写入渲染产物（先写临时文件再原子替换，避免读到半个文件）
+     */
+    public void write(String contentPath, String sourceHash, MarkdownRenderResult result) {
+        Path sourcePath = resolveSource(contentPath);
+        Path htmlPath = resolve(contentPath, HTML_SUFFIX);
+        Path metaPath = resolve(contentPath, META_SUFFIX);
+        if (sourcePath == null || htmlPath == null) {
+            return;
+        }
+
+        try {
+            ArtifactMeta meta = new ArtifactMeta();
+            meta.setVersion(ARTIFACT_VERSION);
+            meta.setSourceLastModified(Files.getLastModifiedTime(sourcePath).toMillis());
+            meta.setSourceSize(Files.size(sourcePath));
+            meta.setSourceHash(sourceHash);
+            meta.setToc(result.getToc());
+            meta.setHeadings(result.getHeadings());
+            meta.setWordCount(result.getWordCount());
+            meta.setReadingTime(result.getReadingTime());
+
+            Path htmlTemp = htmlPath.resolveSibling(htmlPath.getFileName() + ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(htmlTemp))) {
+                out.write(result.getHtml().getBytes(StandardCharsets.UTF_8));
+            }
+            Path metaTemp = metaPath.resolveSibling(metaPath.getFileName() + ".tmp");
+            objectMapper.writeValue(metaTemp.toFile(), meta);
+
+            // 先替换HTML再替换元数据：元数据中的源文件指纹是产物生效的标志
+            Files.move(htmlTemp, htmlPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(metaTemp, metaPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // 产物只是加速手段，写入失败时读取端会回退到实时渲染
+            log.warn("写入文章渲染产物失败: {}", contentPath, e);
+        }
+    }
+
+    /**
+     * 删除渲染产物
+     */
+    public void delete(String contentPath) {
+        for (String suffix : new String[]{HTML_SUFFIX, META_SUFFIX}) {
+            Path path = resolve(contentPath, suffix);
+            if (path == null) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("删除文章渲染产物失败: {}", path, e);
+            }
+        }
+    }
+
+    private Path resolveSource(String contentPath) {
+        if (contentPath == null || !contentPath.endsWith(MARKDOWN_SUFFIX)) {
+            return null;
+        }
+        return Paths.get(blogProperties.getData().getPath(), contentPath);
+    }
+
+    /**
+     * 产物路径：articles/{id}.md -> articles/{id}{suffix}
+     */
+    private Path resolve(String contentPath, String suffix) {
+        Path source = resolveSource(contentPath);
+        if (source == null) {
+            return null;
+        }
+        String fileName = source.getFileName().toString();
+        return source.resolveSibling(fileName.substring(0, fileName.length() - MARKDOWN_SUFFIX.length()) + suffix);
+    }
+
+    /**
+     * 渲染产物
+     */
+    public record Artifact(String html, ArtifactMeta meta) {
+
+        public MarkdownRenderResult toRenderResult() {
+            return new MarkdownRenderResult(html, meta.getToc(), meta.getHeadings(),
+                    meta.getWordCount(), meta.getReadingTime());
+        }
+    }
+
+    /**
+     * 渲染产物元数据
+     */
+    @Data
+    public static class ArtifactMeta {
+        private int version;
+        private long sourceLastModified;
+        private long sourceSize;
+        private String sourceHash;
+        private String toc = "";
+        private List<MarkdownRenderResult.HeadingAnchor> headings = new ArrayList<>();
+        private int wordCount;
+        private int readingTime;
+    }
+}
@@ -0,0 +1,363 @@
+package com.blog.service.impl;
+
+import com.blog.common.enums.ArticleStatus;
+import com.blog.config.properties.BlogProperties;
+import com.blog.model.entity.Article;
+import com.blog.repository.ArticleRepository;
+import com.blog.search.CjkBigramTokenizer;
+import com.blog.search.InvertedIndex;
+import com.blog.service.MarkdownService;
+import com.blog.service.SearchService;
+import com.blog.util.TransactionUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 全文搜索服务实现
+ * 索引保存在内存中，定期持久化到 {data.path}/search/articles.idx；
+ * 启动时加载持久化文件，再与数据库比对，并行重建变化的文章；重建期间的文章变更同时记录，替换索引前重放。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+
+    private static final String INDEX_FILE = "search/articles.idx";
+
+    /**
+     * 摘要片段长度及命中词之前保留的上下文长度
+     */
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int SNIPPET_CONTEXT = 40;
+
+    private final ArticleRepository articleRepository;
+    private final MarkdownService markdownService;
+    private final BlogProperties blogProperties;
+
+    private volatile InvertedIndex index = new InvertedIndex();
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+    /**
+     * 重建期间发生的索引变更（非null表示重建进行中），由 swapLock 保护
+     */
+    private List<Consumer<InvertedIndex>> pendingChanges;
+    private final Lock swapLock = new ReentrantLock();
+
+    /**
+     * 定时任务、重建完成和停机都会触发持久化，串行执行，避免并发写同一个索引文件
+     */
+    private final Lock flushLock = new ReentrantLock();
+
+    /**
+     * 启动后在后台加载并校正索引，不阻塞应用启动
+     */
+    @Async("maintenanceExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("重建搜索索引失败", e);
+        }
+    }
+
+    /**
+     * 加载持久化索引，与数据库中已发布文章比对后并行重建变化的文章
+     */
+    void rebuild() {
+        long start = System.currentTimeMillis();
+        swapLock.lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            swapLock.unlock();
+        }
+        try {
+            rebuildAndSwap(start);
+        } finally {
+            swapLock.lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                swapLock.unlock();
+            }
+        }
+    }
+
+    private void rebuildAndSwap(long start) {
+        InvertedIndex loaded = loadIndex();
+
+        List<Article> articles = articleRepository.findByStatus(ArticleStatus.PUBLISHED.getValue());
+        Set<Integer> published = new HashSet<>();
+        List<Article> stale = new ArrayList<>();
+        for (Article article : articles) {
+            int docId = Math.toIntExact(article.getId());
+            published.add(docId);
+            String stamp = stamp(article.getTitle(), article.getSummary(), article.getContentPath());
+            if (!stamp.equals(loaded.stamp(docId))) {
+                stale.add(article);
+            }
+        }
+
+        // 分词是纯计算，按文章并行执行后再写入索引
+        List<InvertedIndex.Document> documents = stale.parallelStream()
+                .map(article -> analyze(article.getId(), article.getTitle(), article.getSummary(),
+                        article.getContentPath(), markdownService.readMarkdownFile(article.getContentPath())))
+                .toList();
+        documents.forEach(loaded::put);
+
+        int removed = 0;
+        for (Integer docId : loaded.docIds()) {
+            if (!published.contains(docId)) {
+                loaded.remove(docId);
+                removed++;
+            }
+        }
+
+        // 重建期间新增、修改、删除的文章按发生顺序重放到新索引后再替换（这些变更比上面读取的数据更新）
+        int replayed;
+        swapLock.lock();
+        try {
+            replayed = pendingChanges.size();
+            pendingChanges.forEach(change -> change.accept(loaded));
+            index = loaded;
+        } finally {
+            swapLock.unlock();
+        }
+        if (!documents.isEmpty() || removed > 0 || replayed > 0) {
+            dirty.set(true);
+            flush();
+        }
+        log.info("搜索索引就绪: 文章{}篇，重建{}篇，移除{}篇，重放变更{}次，耗时{}ms",
+                published.size(), documents.size(), removed, replayed, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public List<InvertedIndex.Hit> search(String keyword) {
+        return index.search(keyword);
+    }
+
+    @Override
+    public String highlight(String text, String keyword) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        return markup(text, 0, text.length(), findMatches(text, queryTerms(keyword)));
+    }
+
+    @Override
+    public String snippet(Long articleId, String keyword) {
+        String text = index.text(Math.toIntExact(articleId));
+        if (text.isEmpty()) {
+            return "";
+        }
+
+        List<int[]> matches = findMatches(text, queryTerms(keyword));
+        int start = matches.isEmpty() ? 0 : Math.max(0, matches.get(0)[0] - SNIPPET_CONTEXT);
+        int end = Math.min(text.length(), start + SNIPPET_LENGTH);
+
+        StringBuilder sb = new StringBuilder();
+        if (start > 0) {
+            sb.append("…");
+        }
+        sb.append(markup(text, start, end, matches));
+        if (end < text.length()) {
+            sb.append("…");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void indexArticle(Long articleId, String title, String summary, String contentPath, String markdown) {
+        TransactionUtil.afterCommit(() -> {
+            InvertedIndex.Document document = analyze(articleId, title, summary, contentPath, markdown);
+            apply(target -> target.put(document));
+            log.debug("搜索索引已更新: articleId={}", articleId);
+        });
+    }
+
+    @Override
+    public void removeArticle(Long articleId) {
+        TransactionUtil.afterCommit(() -> {
+            apply(target -> target.remove(Math.toIntExact(articleId)));
+            log.debug("搜索索引已移除: articleId={}", articleId);
+        });
+    }
+
+    /**
+     * 写入当前索引；重建进行中时同时记录下来，替换前重放到新索引上
+     */
+    private void apply(Consumer<InvertedIndex> change) {
+        swapLock.lock();
+        try {
+            change.accept(index);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            dirty.set(true);
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    /**
+     * 定期持久化有变化的索引
+     */
+    @Scheduled(fixedDelay = 60000)
+    @PreDestroy
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (!dirty.compareAndSet(true, false)) {
+                return;
+            }
+            index.writeTo(indexFile());
+        } catch (IOException e) {
+            dirty.set(true);
+            log.error("保存搜索索引失败", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private InvertedIndex loadIndex() {
+        Path file = indexFile();
+        if (!Files.exists(file)) {
+            return new InvertedIndex();
+        }
+        try {
+            return InvertedIndex.readFrom(file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("搜索索引文件无法读取，将全量重建: {}", file, e);
+            return new InvertedIndex();
+        }
+    }
+
+    private InvertedIndex.Document analyze(Long articleId, String title, String summary, String contentPath, String markdown) {
+        return InvertedIndex.analyze(Math.toIntExact(articleId), stamp(title, summary, contentPath),
+                title, summary, markdownService.toPlainText(markdown));
+    }
+
+    /**
+     * 文档版本标记：标题、摘要和Markdown文件属性变化时重建
+     */
+    private String stamp(String title, String summary, String contentPath) {
+        long lastModified = -1;
+        long size = -1;
+        if (contentPath != null && !contentPath.isEmpty()) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(
+                        Paths.get(blogProperties.getData().getPath(), contentPath), BasicFileAttributes.class);
+                lastModified = attributes.lastModifiedTime().toMillis();
+                size = attributes.size();
+            } catch (IOException e) {
+                // 文件不存在时按空正文处理
+            }
+        }
+        return lastModified + ":" + size + ":" + Objects.hash(title, summary);
+    }
+
+    private Path indexFile() {
+        return Paths.get(blogProperties.getData().getPath(), INDEX_FILE);
+    }
+
+    private static Set<String> queryTerms(String keyword) {
+        return new LinkedHashSet<>(CjkBigramTokenizer.tokenizeQuery(keyword));
+    }
+
+    /**
+     * 查找所有命中区间（忽略大小写），按起点排序并合并重叠区间（二元组相互重叠）
+     */
+    private static List<int[]> findMatches(String text, Set<String> terms) {
+        List<int[]> ranges = new ArrayList<>();
+        for (String term : terms) {
+            int from = 0;
+            while (from <= text.length() - term.length()) {
+                int found = indexOfIgnoreCase(text, term, from);
+                if (found < 0) {
+                    break;
+                }
+                ranges.add(new int[]{found, found + term.length()});
+                from = found + 1;
+            }
+        }
+        ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        List<int[]> merged = new ArrayList<>();
+        for (int[] range : ranges) {
+            int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range[0] <= last[1]) {
+                last[1] = Math.max(last[1], range[1]);
+            } else {
+                merged.add(range);
+            }
+        }
+        return merged;
+    }
+
+    private static int indexOfIgnoreCase(String text, String term, int from) {
+        for (int i = from; i <= text.length() - term.length(); i++) {
+            if (text.regionMatches(true, i, term, 0, term.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 输出 [start, end) 区间的文本，命中部分以<mark>包裹，其余HTML转义
+     */
+    private static String markup(String text, int start, int end, List<int[]> matches) {
+        StringBuilder sb = new StringBuilder();
+        int position = start;
+        for (int[] match : matches) {
+            int from = Math.max(match[0], start);
+            int to = Math.min(match[1], end);
+            if (to <= from || from < position) {
+                continue;
+            }
+            escape(sb, text, position, from);
+            sb.append("<mark>");
+            escape(sb, text, from, to);
+            sb.append("</mark>");
+            position = to;
+        }
+        escape(sb, text, position, end);
+        return sb.toString();
+    }
+
+    private static void escape(StringBuilder sb, String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '&' -> sb.append("&amp;");
+                case '"' -> sb.append("&quot;");
+                default -> sb.append(c);
+            }
+        }
+    }
+}
@@ -7,11 +7,11 @@ import com.blog.repository.*;
 import com.blog.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -32,19 +32,27 @@ public class StatisticsServiceImpl implements StatisticsService {
     private final VisitLogRepository visitLogRepository;
     private final StatisticsRepository statisticsRepository;
     private final AppVersionProvider appVersionProvider;
+    private final VisitorSketchStore visitorSketchStore;
 
     @Override
     @Transactional(readOnly = true)
     public DashboardStatsResponse getDashboardStats() {
         DashboardStatsResponse stats = new DashboardStatsResponse();
 
-        // 总访问量
-        stats.setTotalViews(visitLogRepository.countTotalVisits());
-
-        // 今日访问量
-        LocalDateTime startOfToday = LocalDate.now().atStartOfDay();
-        LocalDateTime endOfToday = startOfToday.plusDays(1);
-        stats.setTodayViews(visitLogRepository.countByDate(startOfToday, endOfToday));
+        // 访问量读取按天汇总表（写入访问记录时增量累加），不扫描访问记录
+        LocalDate today = LocalDate.now();
+        stats.setTotalViews(statisticsRepository.sumDailyVisitsUntil(today));
+        stats.setTodayViews(statisticsRepository.findByStatDate(today)
+                .map(Statistics::getDailyVisits)
+                .orElse(0L));
+
+        // 独立访客数（HyperLogLog估计，Redis不可用时不返回）
+        try {
+            stats.setTotalUniqueVisitors(visitorSketchStore.countAll());
+            stats.setTodayUniqueVisitors(visitorSketchStore.countDay(today));
+        } catch (Exception e) {
+            log.warn("读取独立访客sketch失败", e);
+        }
 
         // 文章总数（仅已发布）
         stats.setTotalArticles(articleRepository.countByStatus(1));
@@ -78,13 +86,10 @@ public class StatisticsServiceImpl implements StatisticsService {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(days - 1);
 
-        // 一次查出日期范围内每天的访问量
-        List<Object[]> results = visitLogRepository.countByDateGrouped(startDate, endDate);
+        // 从按天汇总表读取日期范围内每天的访问量
         Map<LocalDate, Long> dbData = new LinkedHashMap<>();
-        for (Object[] row : results) {
-            LocalDate date = (LocalDate) row[0];
-            Long count = (Long) row[1];
-            dbData.put(date, count);
+        for (Statistics stats : statisticsRepository.findByDateRange(startDate, endDate)) {
+            dbData.put(stats.getStatDate(), stats.getDailyVisits());
         }
 
         // 补零填充无数据的日期
@@ -101,8 +106,8 @@ public class StatisticsServiceImpl implements StatisticsService {
     public Map<String, Long> getArticleViewsRanking(int topN) {
         Map<String, Long> ranking = new LinkedHashMap<>();
 
-        // 获取热门文章
-        List<Object[]> topArticles = articleRepository.findTopArticlesByViews(topN);
+        // 获取热门文章（文章浏览量即按文章汇总的访问量）
+        List<Object[]> topArticles = articleRepository.findTopArticlesByViews(PageRequest.of(0, topN));
 
         for (Object[] row : topArticles) {
             String title = (String) row[0];
@@ -117,17 +122,27 @@ public class StatisticsServiceImpl implements StatisticsService {
     @Transactional
     public void recordDailyStatistics() {
         LocalDate yesterday = LocalDate.now().minusDays(1);
-        LocalDateTime startOfDay = yesterday.atStartOfDay();
-        LocalDateTime endOfDay = startOfDay.plusDays(1);
 
-        Statistics stats = new Statistics();
+        // 对账：用访问记录的精确计数覆盖增量累加的结果（增量累加失败时在此修正）
+        Statistics stats = statisticsRepository.findByStatDate(yesterday).orElseGet(Statistics::new);
+        long incremental = stats.getDailyVisits();
         stats.setStatDate(yesterday);
-        stats.setDailyVisits(visitLogRepository.countByDate(startOfDay, endOfDay));
-        stats.setDailyUniqueVisitors((int) visitLogRepository.countUniqueVisitorsByDate(startOfDay, endOfDay));
-        stats.setTotalVisits(visitLogRepository.countTotalVisits());
-        stats.setTotalUniqueVisitors(visitLogRepository.countTotalUniqueVisitors());
+        stats.setDailyVisits(visitLogRepository.countByVisitDate(yesterday));
+        try {
+            stats.setDailyUniqueVisitors((int) visitorSketchStore.countDay(yesterday));
+            stats.setTotalUniqueVisitors(visitorSketchStore.countAll());
+        } catch (Exception e) {
+            // Redis不可用时退回精确计数
+            log.warn("读取独立访客sketch失败，改用精确计数", e);
+            stats.setDailyUniqueVisitors((int) visitLogRepository.countUniqueVisitorsByVisitDate(yesterday));
+            stats.setTotalUniqueVisitors(visitLogRepository.countTotalUniqueVisitors());
+        }
+        stats.setTotalVisits(statisticsRepository.sumDailyVisitsUntil(yesterday.minusDays(1)) + stats.getDailyVisits());
 
         statisticsRepository.save(stats);
+        if (incremental != stats.getDailyVisits()) {
+            log.warn("{}访问量对账修正: {} -> {}", yesterday, incremental, stats.getDailyVisits());
+        }
         log.info("Daily statistics recorded for {}", yesterday);
     }
 }
@@ -0,0 +1,107 @@
+package com.blog.service.impl;
+
+import com.blog.model.dto.statistics.DashboardStatsResponse;
+import com.blog.model.dto.statistics.DashboardStatsSnapshot;
+import com.blog.service.StatisticsService;
+import com.blog.service.StatsSnapshotService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 统计快照服务实现
+ * 公开的统计接口只读取内存中的快照（附带ETag），数据库聚合只在定时刷新时执行；
+ * 首次请求或并发刷新时只有一个线程真正计算，其他线程等待同一结果（single-flight）。
+ */
+@Slf4j
+@Service
+public class StatsSnapshotServiceImpl implements StatsSnapshotService {
+
+    private final StatisticsService statisticsService;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<DashboardStatsSnapshot> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<DashboardStatsSnapshot>> inFlight = new AtomicReference<>();
+
+    private final Counter recomputeCounter;
+
+    public StatsSnapshotServiceImpl(StatisticsService statisticsService, ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry) {
+        this.statisticsService = statisticsService;
+        this.objectMapper = objectMapper;
+        this.recomputeCounter = Counter.builder("blog.stats.snapshot.recompute")
+                .description("仪表板统计快照实际重新计算次数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public DashboardStatsSnapshot getDashboardSnapshot() {
+        DashboardStatsSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refreshDashboardSnapshot();
+    }
+
+    /**
+     * 定时刷新
+     */
+    @Scheduled(fixedDelay = 30000, initialDelay = 30000)
+    public void scheduledRefresh() {
+        try {
+            refreshDashboardSnapshot();
+        } catch (Exception e) {
+            // 刷新失败时继续提供旧快照
+            log.error("刷新仪表板统计快照失败", e);
+        }
+    }
+
+    /**
+     * 已有计算进行中时等待其结果而不重复计算
+     */
+    @Override
+    public DashboardStatsSnapshot refreshDashboardSnapshot() {
+        CompletableFuture<DashboardStatsSnapshot> future = new CompletableFuture<>();
+        CompletableFuture<DashboardStatsSnapshot> running = inFlight.compareAndExchange(null, future);
+        if (running != null) {
+            return running.join();
+        }
+
+        try {
+            DashboardStatsSnapshot snapshot = compute();
+            current.set(snapshot);
+            future.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private DashboardStatsSnapshot compute() {
+        recomputeCounter.increment();
+        DashboardStatsResponse stats = statisticsService.getDashboardStats();
+        return new DashboardStatsSnapshot(stats, etag(stats), LocalDateTime.now());
+    }
+
+    /**
+     * 以响应内容的摘要作为ETag，内容不变时ETag不变
+     */
+    private String etag(DashboardStatsResponse stats) {
+        try {
+            byte[] json = objectMapper.writeValueAsString(stats).getBytes(StandardCharsets.UTF_8);
+            return "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("序列化仪表板统计失败", e);
+        }
+    }
+}
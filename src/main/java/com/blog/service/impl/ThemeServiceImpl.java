@@ -12,6 +12,9 @@ import com.blog.service.ImageUrlService;
 import com.blog.service.ThemeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -50,6 +53,7 @@ public class ThemeServiceImpl implements ThemeService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "themes", key = "'all'", sync = true)
     public List<ThemeResponse> getAllThemes() {
         return themeRepository.findAllByOrderByDisplayOrderAsc()
                 .stream()
@@ -59,6 +63,7 @@ public class ThemeServiceImpl implements ThemeService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "themes", key = "'applied'", sync = true)
     public ThemeResponse getAppliedTheme() {
         Theme theme = themeRepository.findByIsActive(1)
                 .orElse(null);
@@ -70,6 +75,7 @@ public class ThemeServiceImpl implements ThemeService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "themes", key = "#id", sync = true)
     public ThemeResponse getThemeById(Long id) {
         Theme theme = themeRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.THEME_NOT_FOUND.getCode(), "主题不存在"));
@@ -78,6 +84,7 @@ public class ThemeServiceImpl implements ThemeService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "themes", key = "'all'")
     public Long createTheme(ThemeCreateRequest request, MultipartFile lightCss, MultipartFile darkCss) {
         // 生成主题slug
         String slug = generateSlug(request.getName());
@@ -122,6 +129,11 @@ public class ThemeServiceImpl implements ThemeService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "themes", key = "'all'"),
+            @CacheEvict(value = "themes", key = "'applied'"),
+            @CacheEvict(value = "themes", key = "#id")
+    })
     public void updateTheme(Long id, ThemeUpdateRequest request) {
         Theme theme = themeRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.THEME_NOT_FOUND.getCode(), "主题不存在"));
@@ -153,6 +165,11 @@ public class ThemeServiceImpl implements ThemeService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "themes", key = "'all'"),
+            @CacheEvict(value = "themes", key = "'applied'"),
+            @CacheEvict(value = "themes", key = "#id")
+    })
     public void deleteTheme(Long id) {
         Theme theme = themeRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.THEME_NOT_FOUND.getCode(), "主题不存在"));
@@ -180,6 +197,7 @@ public class ThemeServiceImpl implements ThemeService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "themes", allEntries = true)
     public void toggleThemeApplication(Long id, Boolean isApplied) {
         Theme theme = themeRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.THEME_NOT_FOUND.getCode(), "主题不存在"));
@@ -210,6 +228,11 @@ public class ThemeServiceImpl implements ThemeService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(value = "themes", key = "'all'"),
+            @CacheEvict(value = "themes", key = "'applied'"),
+            @CacheEvict(value = "themes", key = "#id")
+    })
     public String uploadThemeCover(Long id, MultipartFile file) {
         Theme theme = themeRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.THEME_NOT_FOUND.getCode(), "主题不存在"));
@@ -425,6 +448,11 @@ public class ThemeServiceImpl implements ThemeService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "themes", key = "'all'"),
+            @CacheEvict(value = "themes", key = "'applied'"),
+            @CacheEvict(value = "themes", key = "#id")
+    })
     public void updateThemeFiles(Long id, MultipartFile lightCss, MultipartFile darkCss) {
         Theme theme = themeRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.THEME_NOT_FOUND.getCode(), "主题不存在"));
@@ -0,0 +1,302 @@
+package com.blog.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 访问日志批量写入
+ * 请求线程先经 DailyVisitFilter 在内存中判断当天是否已记录，已记录的直接跳过；
+ * 首次出现的事件放入有界队列（队列满时直接丢弃并计数，不阻塞请求）；
+ * 单个后台线程批量取出，按 (访客, 文章, 日期) 在内存中去重后用多行 INSERT IGNORE 写入，
+ * 重复访问由唯一键 uk_visitor_article_date 兜底。新写入的文章访问计入浏览量；访客在本线程写入独立访客 sketch
+ * （sketch 不会被对账修正，不能丢弃）；访问量按天累加到 tb_statistics，在 visitLogExecutor 中异步写入，
+ * 丢失的部分由每晚 StatisticsRollupTask 对账修正。
+ */
+@Slf4j
+@Component
+public class VisitLogIngestor {
+
+    private static final int QUEUE_CAPACITY = 10000;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final long POLL_TIMEOUT_MILLIS = 1000;
+    private static final int MAX_TEXT_LENGTH = 500;
+
+    private static final String INSERT_PREFIX = "INSERT IGNORE INTO tb_visit_logs "
+            + "(visitor_id, article_id, ip_address, user_agent, referer, page_url, visit_date, created_at) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SQL = INSERT_PREFIX + INSERT_ROW;
+
+    private static final String ROLLUP_SQL = "INSERT INTO tb_statistics (stat_date, daily_visits) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE daily_visits = daily_visits + VALUES(daily_visits)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArticleCounterBuffer articleCounterBuffer;
+    private final DailyVisitFilter dailyVisitFilter;
+    private final VisitorSketchStore visitorSketchStore;
+    private final Executor visitLogExecutor;
+
+    private final BlockingQueue<VisitEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread worker = new Thread(this::run, "visit-log-ingestor");
+    private volatile boolean running = true;
+
+    private final Counter acceptedCounter;
+    private final Counter droppedCounter;
+    private final Counter seenCounter;
+    private final Counter deduplicatedCounter;
+    private final Counter insertedCounter;
+    private final Counter failedCounter;
+
+    public VisitLogIngestor(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            ArticleCounterBuffer articleCounterBuffer,
+                            DailyVisitFilter dailyVisitFilter, VisitorSketchStore visitorSketchStore,
+                            @Qualifier("visitLogExecutor") Executor visitLogExecutor, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.articleCounterBuffer = articleCounterBuffer;
+        this.dailyVisitFilter = dailyVisitFilter;
+        this.visitorSketchStore = visitorSketchStore;
+        this.visitLogExecutor = visitLogExecutor;
+        this.acceptedCounter = counter(meterRegistry, "accepted", "进入队列的访问事件");
+        this.droppedCounter = counter(meterRegistry, "dropped", "队列已满被丢弃的访问事件");
+        this.seenCounter = counter(meterRegistry, "seen", "当天已记录而跳过的访问事件");
+        this.deduplicatedCounter = counter(meterRegistry, "deduplicated", "批内去重合并的访问事件");
+        this.insertedCounter = counter(meterRegistry, "inserted", "实际写入的访问记录");
+        this.failedCounter = counter(meterRegistry, "failed", "写入失败的访问事件");
+        Gauge.builder("blog.visit.ingest.queue.size", queue, BlockingQueue::size)
+                .description("等待写入的访问事件数")
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry registry, String outcome, String description) {
+        return Counter.builder("blog.visit.ingest")
+                .tag("outcome", outcome)
+                .description(description)
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 提交访问事件（不阻塞；当天已记录的直接跳过，队列已满时丢弃并返回false）
+     */
+    public boolean submit(Long articleId, String visitorId, String ipAddress, String userAgent, String referer, String pageUrl) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        if (!dailyVisitFilter.markIfAbsent(visitorId, articleId, today)) {
+            seenCounter.increment();
+            return true;
+        }
+        VisitEvent event = new VisitEvent(visitorId, articleId, ipAddress, userAgent, referer, pageUrl, today, now);
+        if (queue.offer(event)) {
+            acceptedCounter.increment();
+            return true;
+        }
+        // 未能入队的事件撤销标记，之后的访问仍可记录
+        dailyVisitFilter.unmark(visitorId, articleId, today);
+        droppedCounter.increment();
+        return false;
+    }
+
+    private void run() {
+        List<VisitEvent> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                VisitEvent first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                // 停机时被唤醒：循环继续，直到队列中剩余事件写完
+            } catch (Exception e) {
+                log.error("写入访问日志失败", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 批内去重后批量写入
+     */
+    private void write(List<VisitEvent> batch) {
+        Map<VisitKey, VisitEvent> unique = new LinkedHashMap<>();
+        for (VisitEvent event : batch) {
+            unique.putIfAbsent(new VisitKey(event.visitorId(), event.articleId(), event.visitDate()), event);
+        }
+        deduplicatedCounter.increment(batch.size() - unique.size());
+
+        List<VisitEvent> events = new ArrayList<>(unique.values());
+        List<Object[]> args = new ArrayList<>(events.size());
+        for (VisitEvent event : events) {
+            args.add(new Object[]{
+                    event.visitorId(),
+                    event.articleId(),
+                    event.ipAddress(),
+                    truncate(event.userAgent()),
+                    truncate(event.referer()),
+                    truncate(event.pageUrl()),
+                    Date.valueOf(event.visitDate()),
+                    Timestamp.valueOf(event.createdAt())
+            });
+        }
+
+        boolean[] results;
+        try {
+            results = insert(args);
+        } catch (Exception e) {
+            failedCounter.increment(events.size());
+            for (VisitEvent event : events) {
+                dailyVisitFilter.unmark(event.visitorId(), event.articleId(), event.visitDate());
+            }
+            log.error("批量写入访问日志失败: {}条", events.size(), e);
+            return;
+        }
+
+        int inserted = 0;
+        Map<LocalDate, Integer> visits = new HashMap<>();
+        Map<LocalDate, Set<String>> visitors = new HashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i]) {
+                inserted++;
+                VisitEvent event = events.get(i);
+                if (event.articleId() != null) {
+                    articleCounterBuffer.incrementViews(event.articleId());
+                }
+                visits.merge(event.visitDate(), 1, Integer::sum);
+                visitors.computeIfAbsent(event.visitDate(), date -> new HashSet<>()).add(event.visitorId());
+            }
+        }
+        insertedCounter.increment(inserted);
+        // sketch 只在 key 缺失时回填，丢失的写入无法修正，因此在本线程写入（每天一次 PFADD）
+        addToSketches(visitors);
+        // 汇总交给 visitLogExecutor 写入，汇总表变慢时不拖住访问记录写入；队列满时丢弃最旧的任务，由每晚对账修正
+        if (!visits.isEmpty()) {
+            visitLogExecutor.execute(() -> addToRollups(visits));
+        }
+        log.debug("写入访问日志: 事件{}条，去重后{}条，新增{}条", batch.size(), events.size(), inserted);
+    }
+
+    /**
+     * 写入访问记录，返回每行是否为新写入（已存在被忽略的为false）
+     * 整批用一条多行 INSERT IGNORE 写入，影响行数等于批大小（全部新写入）或为0（全部已存在）时即可确定逐行结果；
+     * 部分已存在时回滚，改为逐条写入按各自的影响行数区分。
+     * 不使用 JDBC 批量执行：开启 rewriteBatchedStatements 后驱动对每行只返回 SUCCESS_NO_INFO，无法区分是否新写入
+     */
+    private boolean[] insert(List<Object[]> args) {
+        boolean[] results = transactionTemplate.execute(status -> {
+            int affected = jdbcTemplate.update(buildInsertSql(args.size()), flatten(args));
+            if (affected != args.size() && affected != 0) {
+                status.setRollbackOnly();
+                return null;
+            }
+            boolean[] all = new boolean[args.size()];
+            Arrays.fill(all, affected > 0);
+            return all;
+        });
+        if (results != null) {
+            return results;
+        }
+
+        results = new boolean[args.size()];
+        for (int i = 0; i < args.size(); i++) {
+            results[i] = jdbcTemplate.update(INSERT_SQL, args.get(i)) > 0;
+        }
+        return results;
+    }
+
+    private static String buildInsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? INSERT_ROW : ", " + INSERT_ROW);
+        }
+        return sql.toString();
+    }
+
+    private static Object[] flatten(List<Object[]> args) {
+        return args.stream().flatMap(Arrays::stream).toArray();
+    }
+
+    /**
+     * 累加每日访问量（失败时由每晚对账修正）
+     */
+    private void addToRollups(Map<LocalDate, Integer> visits) {
+        if (visits.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(visits.size());
+        visits.forEach((date, count) -> args.add(new Object[]{Date.valueOf(date), count}));
+        try {
+            jdbcTemplate.batchUpdate(ROLLUP_SQL, args);
+        } catch (Exception e) {
+            log.warn("累加每日访问量失败", e);
+        }
+    }
+
+    /**
+     * 写入独立访客 sketch（失败只影响统计估计值，不影响访问记录）
+     */
+    private void addToSketches(Map<LocalDate, Set<String>> visitors) {
+        try {
+            visitors.forEach(visitorSketchStore::add);
+        } catch (Exception e) {
+            log.warn("写入独立访客sketch失败", e);
+        }
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH ? value.substring(0, MAX_TEXT_LENGTH) : value;
+    }
+
+    /**
+     * 停机时写完队列中剩余的事件
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        if (worker.isAlive()) {
+            log.warn("访问日志写入线程未能按时结束，剩余{}条未写入", queue.size());
+        }
+    }
+
+    private record VisitEvent(String visitorId, Long articleId, String ipAddress, String userAgent,
+                              String referer, String pageUrl, LocalDate visitDate, LocalDateTime createdAt) {
+    }
+
+    private record VisitKey(String visitorId, Long articleId, LocalDate visitDate) {
+    }
+}
@@ -13,6 +13,9 @@ import com.blog.service.ImageUrlService;
 import com.blog.service.WidgetService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -54,6 +57,7 @@ public class WidgetServiceImpl implements WidgetService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "widgets", key = "'all'", sync = true)
     public List<WidgetResponse> getAllWidgets() {
         return widgetRepository.findAllByOrderByDisplayOrderAsc()
                 .stream()
@@ -63,6 +67,7 @@ public class WidgetServiceImpl implements WidgetService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "widgets", key = "'applied'", sync = true)
     public List<WidgetResponse> getAppliedWidgets() {
         return widgetRepository.findByIsAppliedTrueOrderByDisplayOrderAsc()
                 .stream()
@@ -72,6 +77,7 @@ public class WidgetServiceImpl implements WidgetService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "widgets", key = "#id", sync = true)
     public WidgetResponse getWidgetById(Long id) {
         Widget widget = widgetRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.WIDGET_NOT_FOUND));
@@ -104,6 +110,7 @@ public class WidgetServiceImpl implements WidgetService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "widgets", key = "'all'")
     public Long createWidget(WidgetCreateRequest request) {
         // 确保目录存在
         ensureDirectoriesExist();
@@ -139,6 +146,11 @@ public class WidgetServiceImpl implements WidgetService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "widgets", key = "'all'"),
+            @CacheEvict(value = "widgets", key = "'applied'"),
+            @CacheEvict(value = "widgets", key = "#id")
+    })
     public void updateWidget(Long id, WidgetUpdateRequest request) {
         Widget widget = widgetRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.WIDGET_NOT_FOUND));
@@ -174,6 +186,11 @@ public class WidgetServiceImpl implements WidgetService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "widgets", key = "'all'"),
+            @CacheEvict(value = "widgets", key = "'applied'"),
+            @CacheEvict(value = "widgets", key = "#id")
+    })
     public void deleteWidget(Long id) {
         Widget widget = widgetRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.WIDGET_NOT_FOUND));
@@ -200,6 +217,11 @@ public class WidgetServiceImpl implements WidgetService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "widgets", key = "'all'"),
+            @CacheEvict(value = "widgets", key = "'applied'"),
+            @CacheEvict(value = "widgets", key = "#id")
+    })
     public void toggleWidgetApplication(Long id, Boolean isApplied) {
         Widget widget = widgetRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.WIDGET_NOT_FOUND));
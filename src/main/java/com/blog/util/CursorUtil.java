@@ -0,0 +1,90 @@
+package com.blog.util;
+
+import com.blog.common.enums.ErrorCode;
+import com.blog.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 游标分页工具类
+ * 游标为排序键的Base64URL编码，对客户端不透明
+ */
+public class CursorUtil {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 文章游标：(is_top, created_at, id)
+     */
+    public record ArticleCursor(Integer isTop, LocalDateTime createdAt, Long id) {
+    }
+
+    /**
+     * 时间游标：(created_at, id)，用于留言和评论
+     */
+    public record TimeCursor(LocalDateTime createdAt, Long id) {
+    }
+
+    public static String encodeArticle(Integer isTop, LocalDateTime createdAt, Long id) {
+        return encode(isTop + SEPARATOR + createdAt + SEPARATOR + id);
+    }
+
+    public static String encodeTime(LocalDateTime createdAt, Long id) {
+        return encode(createdAt + SEPARATOR + id);
+    }
+
+    /**
+     * 解析文章游标（为空时返回null，表示第一页）
+     */
+    public static ArticleCursor decodeArticle(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String[] parts = decode(cursor, 3);
+        try {
+            return new ArticleCursor(Integer.valueOf(parts[0]), LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw invalidCursor();
+        }
+    }
+
+    /**
+     * 解析时间游标（为空时返回null，表示第一页）
+     */
+    public static TimeCursor decodeTime(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String[] parts = decode(cursor, 2);
+        try {
+            return new TimeCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor, int expectedParts) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor();
+        }
+        String[] parts = raw.split("\\|", -1);
+        if (parts.length != expectedParts) {
+            throw invalidCursor();
+        }
+        return parts;
+    }
+
+    private static BusinessException invalidCursor() {
+        return new BusinessException(ErrorCode.PARAM_ERROR.getCode(), "分页游标无效");
+    }
+}
@@ -0,0 +1,4 @@
+-- 游标分页索引：排序键与查询条件一致，任意深度翻页只扫描一页数据
+ALTER TABLE tb_articles ADD INDEX idx_status_top_created (status, is_top, created_at, id);
+ALTER TABLE tb_messages ADD INDEX idx_status_created (status, created_at, id);
+ALTER TABLE tb_comments ADD INDEX idx_created_id (created_at, id);
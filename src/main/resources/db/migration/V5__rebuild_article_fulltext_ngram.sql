@@ -0,0 +1,3 @@
+-- 文章全文索引改用 ngram 解析器（默认解析器按空格分词，无法检索中文）
+ALTER TABLE tb_articles DROP INDEX ft_title_summary;
+ALTER TABLE tb_articles ADD FULLTEXT INDEX ft_title_summary (title, summary) WITH PARSER ngram COMMENT '全文索引（ngram）';
@@ -0,0 +1,13 @@
+-- 首页访问的 article_id 为 NULL，唯一键对 NULL 不生效；改用生成列参与唯一键，使 INSERT IGNORE 对首页访问同样去重
+DELETE v1 FROM tb_visit_logs v1
+    JOIN tb_visit_logs v2
+        ON v1.visitor_id = v2.visitor_id
+        AND v1.visit_date = v2.visit_date
+        AND v1.article_id IS NULL
+        AND v2.article_id IS NULL
+        AND v1.id > v2.id;
+
+ALTER TABLE tb_visit_logs
+    ADD COLUMN article_key BIGINT AS (IFNULL(article_id, 0)) STORED COMMENT '去重用文章键（首页访问为0）' AFTER article_id,
+    DROP INDEX uk_visitor_article_date,
+    ADD UNIQUE KEY uk_visitor_article_date (visitor_id, article_key, visit_date) COMMENT '同一访客同一文章（或首页）同一天只计一次';
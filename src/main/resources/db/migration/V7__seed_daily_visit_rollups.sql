@@ -0,0 +1,15 @@
+-- tb_statistics 改为按天增量汇总的访问量（写入访问记录时累加，每晚对账）；用已有访问记录补齐历史数据
+INSERT INTO tb_statistics (stat_date, daily_visits, daily_unique_visitors, total_visits)
+SELECT visit_date,
+       visits,
+       unique_visitors,
+       SUM(visits) OVER (ORDER BY visit_date)
+FROM (
+    SELECT visit_date, COUNT(*) AS visits, COUNT(DISTINCT visitor_id) AS unique_visitors
+    FROM tb_visit_logs
+    GROUP BY visit_date
+) daily
+ON DUPLICATE KEY UPDATE
+    daily_visits = VALUES(daily_visits),
+    daily_unique_visitors = VALUES(daily_unique_visitors),
+    total_visits = VALUES(total_visits);
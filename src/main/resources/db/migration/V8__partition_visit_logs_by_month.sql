@@ -0,0 +1,11 @@
+-- 访问记录按 visit_date 分区：分区键必须包含在所有唯一键中，主键改为 (id, visit_date)
+-- 初始只建历史分区和兜底分区，按月分区由 VisitLogPartitionTask 启动时从 p_future 中拆出并定期向前滚动
+ALTER TABLE tb_visit_logs
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, visit_date);
+
+ALTER TABLE tb_visit_logs
+    PARTITION BY RANGE COLUMNS (visit_date) (
+        PARTITION p_history VALUES LESS THAN ('2025-11-01'),
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
@@ -0,0 +1,3 @@
+-- 评论分页线程索引：按文章、状态、父评论定位一组同级评论，按 (created_at, id) 游标翻页；
+-- 同时覆盖楼层回复数统计和每楼前N条回复的查询
+ALTER TABLE tb_comments ADD INDEX idx_article_status_parent_created (article_id, status, parent_id, created_at, id);
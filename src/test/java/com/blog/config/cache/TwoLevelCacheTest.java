@@ -0,0 +1,40 @@
+package com.blog.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TwoLevelCacheTest {
+
+    @Test
+    void redisOutageFallsBackToLoaderAndLocalCache() {
+        Cache remote = mock(Cache.class);
+        RedisConnectionFailureException outage = new RedisConnectionFailureException("down");
+        when(remote.get(any())).thenThrow(outage);
+        doThrow(outage).when(remote).put(any(), any());
+        doThrow(outage).when(remote).evict(any());
+        doThrow(outage).when(remote).clear();
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TwoLevelCache cache = new TwoLevelCache("widgets", Caffeine.newBuilder().build(), remote, (name, key) -> {
+        }, registry.counter("hit"), registry.counter("miss"));
+
+        assertThat(cache.get("all", () -> "loaded")).isEqualTo("loaded");
+        // 第二次读取命中L1，不再回源
+        assertThat(cache.get("all", () -> "reloaded")).isEqualTo("loaded");
+        assertThat(cache.get("other")).isNull();
+
+        cache.put("all", "updated");
+        assertThat(cache.get("all").get()).isEqualTo("updated");
+        cache.evict("all");
+        assertThat(cache.get("all", () -> "after-evict")).isEqualTo("after-evict");
+        cache.clear();
+        assertThat(cache.get("all", () -> "after-clear")).isEqualTo("after-clear");
+    }
+}
@@ -0,0 +1,30 @@
+package com.blog.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CjkBigramTokenizerTest {
+
+    @Test
+    void indexTokensContainUnigramsAndBigrams() {
+        assertThat(CjkBigramTokenizer.tokenize("小猫咪"))
+                .containsExactly("小", "小猫", "猫", "猫咪", "咪");
+    }
+
+    @Test
+    void queryTokensAreBigramsOnly() {
+        assertThat(CjkBigramTokenizer.tokenizeQuery("小猫咪")).containsExactly("小猫", "猫咪");
+    }
+
+    @Test
+    void singleCharacterQueryIsUnigram() {
+        assertThat(CjkBigramTokenizer.tokenizeQuery("猫")).containsExactly("猫");
+    }
+
+    @Test
+    void latinWordsAreLowercasedAndSplitFromCjk() {
+        assertThat(CjkBigramTokenizer.tokenize("Spring启动")).containsExactly("spring", "启", "启动", "动");
+        assertThat(CjkBigramTokenizer.tokenizeQuery("Spring启动")).containsExactly("spring", "启动");
+    }
+}
@@ -0,0 +1,79 @@
+package com.blog.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private static InvertedIndex index() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(InvertedIndex.analyze(1, "s1", "我家的猫咪", "", "今天猫咪睡了一整天"));
+        index.put(InvertedIndex.analyze(2, "s2", "小狗日记", "", "散步回来小狗很开心"));
+        return index;
+    }
+
+    private static List<Integer> docIds(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::docId).toList();
+    }
+
+    @Test
+    void singleCjkCharacterQueryMatchesInsideLongerRuns() {
+        assertThat(docIds(index().search("猫"))).containsExactly(1);
+        assertThat(docIds(index().search("狗"))).containsExactly(2);
+    }
+
+    @Test
+    void multiCharacterQueryMatchesByBigram() {
+        assertThat(docIds(index().search("猫咪"))).containsExactly(1);
+        assertThat(index().search("猫狗")).isEmpty();
+    }
+
+    @Test
+    void storesPlainTextAndSurvivesPersistence(@TempDir Path dir) throws Exception {
+        InvertedIndex index = index();
+        Path file = dir.resolve("articles.idx");
+        index.writeTo(file);
+
+        InvertedIndex loaded = InvertedIndex.readFrom(file);
+        assertThat(loaded.text(1)).isEqualTo("今天猫咪睡了一整天");
+        assertThat(loaded.stamp(2)).isEqualTo("s2");
+        assertThat(docIds(loaded.search("猫"))).containsExactly(1);
+    }
+
+    @Test
+    void concurrentWritesLeaveReadableFileAndNoTempFiles(@TempDir Path dir) throws Exception {
+        InvertedIndex index = index();
+        Path file = dir.resolve("articles.idx");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                writes.add(executor.submit(() -> {
+                    index.writeTo(file);
+                    return null;
+                }));
+            }
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(docIds(InvertedIndex.readFrom(file).search("狗"))).containsExactly(2);
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+}
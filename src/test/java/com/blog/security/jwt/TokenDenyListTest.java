@@ -0,0 +1,155 @@
+package com.blog.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TokenDenyListTest {
+
+    private static final String KEY_PREFIX = "jwt:deny:";
+
+    @Test
+    void bloomFilterHasNoFalseNegatives() {
+        TokenDenyList.BloomFilter filter = new TokenDenyList.BloomFilter(10000, 0.01);
+        assertThat(filter.isEmpty()).isTrue();
+
+        for (int i = 0; i < 10000; i++) {
+            filter.put("token-" + i);
+        }
+        assertThat(filter.isEmpty()).isFalse();
+        for (int i = 0; i < 10000; i++) {
+            assertThat(filter.mightContain("token-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void bloomFilterFalsePositiveRateStaysNearTarget() {
+        TokenDenyList.BloomFilter filter = new TokenDenyList.BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("token-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(2000);
+    }
+
+    /**
+     * 重建扫描 Redis 期间收到吊销通知（扫描结果中没有该记录），切换后的过滤器仍须包含它
+     */
+    @Test
+    void revocationArrivingWhileLoadingIsKeptInNewFilter() {
+        Set<String> redisKeys = ConcurrentHashMap.newKeySet();
+        StringRedisTemplate redisTemplate = redisTemplate(redisKeys);
+        RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+        TokenDenyList denyList = new TokenDenyList(redisTemplate, listenerContainer, new SimpleMeterRegistry());
+        denyList.init();
+        MessageListener listener = listener(listenerContainer);
+
+        redisKeys.add(KEY_PREFIX + "old");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> {
+            Cursor<String> cursor = cursor(new ArrayList<>(redisKeys));
+            revoke(redisKeys, listener, "during-load");
+            return cursor;
+        });
+        denyList.rebuild();
+
+        assertThat(denyList.isRevoked("old")).isTrue();
+        assertThat(denyList.isRevoked("during-load")).isTrue();
+    }
+
+    /**
+     * 重建与吊销通知并发：通知先写 Redis 再写本地，任何交错下切换后的过滤器都不能丢失该记录
+     */
+    @Test
+    void concurrentRevocationAndRebuildNeverLoseEntries() throws Exception {
+        Set<String> redisKeys = ConcurrentHashMap.newKeySet();
+        RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+        TokenDenyList denyList = new TokenDenyList(redisTemplate(redisKeys), listenerContainer, new SimpleMeterRegistry());
+        denyList.init();
+        MessageListener listener = listener(listenerContainer);
+
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        int rounds = 5000;
+        Thread rebuilder = new Thread(() -> {
+            for (int i = 0; i < rounds; i++) {
+                await(barrier);
+                denyList.rebuild();
+                await(barrier);
+            }
+        });
+        rebuilder.start();
+        for (int i = 0; i < rounds; i++) {
+            String id = "token-" + i;
+            await(barrier);
+            revoke(redisKeys, listener, id);
+            await(barrier);
+            assertThat(denyList.isRevoked(id)).as(id).isTrue();
+            // 模拟过期，保持每轮扫描的数据量不变
+            redisKeys.remove(KEY_PREFIX + id);
+        }
+        rebuilder.join();
+    }
+
+    private static StringRedisTemplate redisTemplate(Set<String> redisKeys) {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> cursor(new ArrayList<>(redisKeys)));
+        when(redisTemplate.hasKey(anyString())).thenAnswer(invocation -> redisKeys.contains(invocation.<String>getArgument(0)));
+        return redisTemplate;
+    }
+
+    private static MessageListener listener(RedisMessageListenerContainer listenerContainer) {
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+        return listener.getValue();
+    }
+
+    /**
+     * 与其他节点的吊销顺序一致：先写 Redis，再收到频道通知
+     */
+    private static void revoke(Set<String> redisKeys, MessageListener listener, String id) {
+        redisKeys.add(KEY_PREFIX + id);
+        listener.onMessage(new DefaultMessage("jwt:revocation".getBytes(StandardCharsets.UTF_8),
+                id.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursor(List<String> keys) {
+        Iterator<String> iterator = keys.iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
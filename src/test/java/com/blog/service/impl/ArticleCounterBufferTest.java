@@ -0,0 +1,94 @@
+package com.blog.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleCounterBufferTest {
+
+    private static final Long ARTICLE_ID = 1L;
+
+    /**
+     * 只记录单篇文章浏览量的数据库替身：UPDATE 参数为 [id, delta, id]
+     */
+    private static class FakeJdbcTemplate extends JdbcTemplate {
+        final AtomicLong views = new AtomicLong();
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (sql.contains("views")) {
+                views.addAndGet((Long) args[1]);
+            }
+            return 1;
+        }
+    }
+
+    @Test
+    void mergedViewsNeverDecreaseAcrossFlushes() throws Exception {
+        FakeJdbcTemplate jdbcTemplate = new FakeJdbcTemplate();
+        ArticleCounterBuffer buffer = new ArticleCounterBuffer(jdbcTemplate);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<String> violations = new ArrayList<>();
+
+        Thread reader = new Thread(() -> {
+            long last = 0;
+            while (running.get()) {
+                long persisted = jdbcTemplate.views.get();
+                long merged = buffer.mergeViews(ARTICLE_ID, persisted);
+                if (merged < last) {
+                    violations.add(last + " -> " + merged);
+                }
+                last = merged;
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 20000; i++) {
+            buffer.incrementViews(ARTICLE_ID);
+            if (i % 100 == 0) {
+                buffer.flush();
+            }
+        }
+        running.set(false);
+        reader.join();
+        buffer.flush();
+
+        assertThat(violations).isEmpty();
+        assertThat(jdbcTemplate.views.get()).isEqualTo(20000);
+        assertThat(buffer.mergeViews(ARTICLE_ID, jdbcTemplate.views.get())).isEqualTo(20000);
+    }
+
+    @Test
+    void incrementsRacingCounterRetirementAreNotLost() throws Exception {
+        FakeJdbcTemplate jdbcTemplate = new FakeJdbcTemplate();
+        ArticleCounterBuffer buffer = new ArticleCounterBuffer(jdbcTemplate);
+        int threads = 4;
+        int perThread = 20000;
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    buffer.incrementViews(ARTICLE_ID);
+                    if (i % 50 == 0) {
+                        Thread.yield();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        // 持续写回：增量取空后的下一轮会尝试回收计数器，与并发累加交错
+        while (done.getCount() > 0) {
+            buffer.flush();
+        }
+        buffer.flush();
+
+        assertThat(jdbcTemplate.views.get()).isEqualTo((long) threads * perThread);
+    }
+}